@@ -0,0 +1,33 @@
+package vn.rmit.cosc2469;
+
+/**
+ * BacktrackingContext holds the mutable scratch state of a {@link RMIT_Sudoku_Solver} search:
+ * the candidate masks, the MRV queue and a checkpoint for the search stack.
+ * <p>
+ * One context is created per thread on first use and reused for every later puzzle solved on that
+ * thread, so solving is allocation-free in steady state and solver instances need no locking.
+ */
+final class BacktrackingContext {
+    private static final ThreadLocal<BacktrackingContext> CONTEXT = ThreadLocal.withInitial(BacktrackingContext::new);
+
+    // Candidates of every cell as a bitmask (bit d = digit d), ignoring the cell's own value, and the
+    // number of peers holding each digit: a digit is a candidate while no peer holds it.
+    final int[] candidates = new int[SolverCheckpoint.CELLS];
+    final int[] blockers = new int[SolverCheckpoint.CELLS * 10];
+
+    // Empty cells bucketed by candidate count.
+    final MrvBucketQueue queue = new MrvBucketQueue();
+
+    // Search stack reused by RMIT_Sudoku_Solver#solve.
+    final SolverCheckpoint checkpoint = new SolverCheckpoint();
+
+    private BacktrackingContext() {
+    }
+
+    /**
+     * @return The calling thread's context.
+     */
+    static BacktrackingContext get() {
+        return CONTEXT.get();
+    }
+}
@@ -0,0 +1,468 @@
+package vn.rmit.cosc2469;
+
+import java.util.Arrays;
+
+/**
+ * CdclSatSolver is a self-contained Conflict-Driven Clause Learning SAT solver for CNF formulas.
+ * Variables are numbered from 1 and literals are given DIMACS-style: {@code v} for the variable being
+ * true and {@code -v} for it being false.
+ *
+ * <h2>Algorithm Type</h2>
+ * CDCL with two-watched-literal unit propagation, first-UIP clause learning with non-chronological
+ * backjumping, VSIDS branching with phase saving, and restarts following the Luby sequence.
+ *
+ * <h2>Time and Space Complexity</h2>
+ * <ul>
+ *     <li>Worst-case time complexity: O(2^v), where v is the number of variables.</li>
+ *     <li>Propagation only visits clauses watching a literal that has just become false.</li>
+ *     <li>Space complexity: O(v + total clause length), plus the learnt clauses (which are kept).</li>
+ * </ul>
+ */
+public class CdclSatSolver {
+    private static final int RESTART_BASE = 100;        // conflicts per unit of the Luby sequence
+    private static final double VAR_DECAY = 0.95;       // VSIDS activity decay per conflict
+    private static final double RESCALE_LIMIT = 1e100;  // activities are rescaled beyond this
+    private static final byte TRUE = 1;
+    private static final byte FALSE = 0;
+    private static final byte UNDEF = -1;
+    private static final int NO_REASON = -1;
+
+    private final int numVars;
+
+    // Clause arena: a clause at ref r has its size at arena[r] and its literals after it.
+    // In a reason clause, the implied literal is always the first one.
+    private int[] arena = new int[1 << 12];
+    private int arenaSize = 0;
+
+    // watches[lit] lists the clauses watching lit, visited when lit becomes false.
+    private final int[][] watches;
+    private final int[] watchCount;
+
+    // Assignment, indexed by variable (0-based internally; a literal is 2 * var + sign).
+    private final byte[] assign;
+    private final byte[] polarity;
+    private final int[] level;
+    private final int[] reason;
+    private final int[] trail;
+    private int trailSize = 0;
+    private final int[] trailLim;
+    private int decisionLevel = 0;
+    private int qhead = 0;
+
+    // VSIDS: activities and a binary max-heap of unassigned variables.
+    private final double[] activity;
+    private double varInc = 1.0;
+    private final int[] heap;
+    private final int[] heapIndex;
+    private int heapSize = 0;
+
+    // Scratch space for conflict analysis.
+    private final boolean[] seen;
+    private final int[] learnt;
+
+    private boolean unsat = false;
+    private int restarts = 0;
+    private long restartEnd = luby(0) * RESTART_BASE;  // conflict count at which the current restart window ends
+    private long conflicts = 0;
+    private long decisions = 0;
+
+    /**
+     * Creates a solver for a formula over variables 1..numVars.
+     *
+     * @param numVars The number of variables.
+     */
+    public CdclSatSolver(int numVars) {
+        this.numVars = numVars;
+        watches = new int[2 * numVars][];
+        watchCount = new int[2 * numVars];
+        for (int lit = 0; lit < 2 * numVars; lit++) {
+            watches[lit] = new int[4];
+        }
+        assign = new byte[numVars];
+        polarity = new byte[numVars];
+        level = new int[numVars];
+        reason = new int[numVars];
+        trail = new int[numVars];
+        trailLim = new int[numVars + 1];
+        activity = new double[numVars];
+        heap = new int[numVars];
+        heapIndex = new int[numVars];
+        seen = new boolean[numVars];
+        learnt = new int[numVars + 1];
+
+        Arrays.fill(assign, UNDEF);
+        Arrays.fill(polarity, FALSE);
+        Arrays.fill(reason, NO_REASON);
+        Arrays.fill(heapIndex, -1);
+        for (int v = 0; v < numVars; v++) {
+            heapInsert(v);
+        }
+    }
+
+    /**
+     * Adds a clause, i.e. a disjunction of DIMACS literals. Clauses must be added before solving.
+     *
+     * @param literals The literals of the clause.
+     * @throws IllegalArgumentException if a literal refers to an unknown variable.
+     */
+    public void addClause(int... literals) {
+        if (unsat) return;
+        int[] lits = new int[literals.length];
+        for (int i = 0; i < literals.length; i++) {
+            int var = Math.abs(literals[i]);
+            if (var < 1 || var > numVars) {
+                throw new IllegalArgumentException("Unknown variable in literal: " + literals[i]);
+            }
+            lits[i] = 2 * (var - 1) + (literals[i] < 0 ? 1 : 0);
+        }
+
+        // Drop duplicate and false literals; a tautology or a true literal satisfies the clause.
+        Arrays.sort(lits);
+        int size = 0;
+        for (int i = 0; i < lits.length; i++) {
+            int lit = lits[i];
+            if (size > 0 && lits[size - 1] == lit) continue;
+            if (size > 0 && lits[size - 1] == (lit ^ 1)) return;
+            byte value = litValue(lit);
+            if (value == TRUE) return;
+            if (value == FALSE) continue;
+            lits[size++] = lit;
+        }
+
+        if (size == 0) {
+            unsat = true;
+        } else if (size == 1) {
+            enqueue(lits[0], NO_REASON);
+        } else {
+            attach(storeClause(lits, size));
+        }
+    }
+
+    /**
+     * Searches for a satisfying assignment for at most {@code conflictBudget} conflicts.
+     * When the result is {@link SearchStatus#SUSPENDED}, calling this method again continues the
+     * search exactly where it stopped, so splitting a run into several budgets does not change the
+     * restart schedule or the result.
+     *
+     * @param conflictBudget The maximum number of conflicts before suspending.
+     * @return {@link SearchStatus#SOLVED} if the formula is satisfiable (see {@link #value(int)}),
+     * {@link SearchStatus#UNSOLVABLE} if it is not, or {@link SearchStatus#SUSPENDED}.
+     */
+    public SearchStatus solve(long conflictBudget) {
+        if (unsat) return SearchStatus.UNSOLVABLE;
+        long budgetEnd = conflictBudget > Long.MAX_VALUE - conflicts ? Long.MAX_VALUE : conflicts + conflictBudget;
+
+        while (true) {
+            SearchStatus status = search(Math.min(restartEnd, budgetEnd));
+            if (status != SearchStatus.SUSPENDED) return status;
+            if (conflicts >= restartEnd) {
+                cancelUntil(0);
+                restarts++;
+                restartEnd = conflicts + luby(restarts) * RESTART_BASE;
+            }
+            if (conflicts >= budgetEnd) return SearchStatus.SUSPENDED;
+        }
+    }
+
+    /**
+     * Returns the value of a variable in the satisfying assignment found by {@link #solve(long)}.
+     *
+     * @param var A variable, from 1 to numVars.
+     * @return true if the variable is assigned true.
+     */
+    public boolean value(int var) {
+        return assign[var - 1] == TRUE;
+    }
+
+    public long getConflicts() {
+        return conflicts;
+    }
+
+    public long getDecisions() {
+        return decisions;
+    }
+
+    public int getRestarts() {
+        return restarts;
+    }
+
+    /**
+     * Runs CDCL until a model is found, the formula is refuted, or the conflict count reaches {@code conflictEnd}.
+     * When it stops at {@code conflictEnd}, the assignment is left as it is, so the search can carry on from there.
+     */
+    private SearchStatus search(long conflictEnd) {
+        while (true) {
+            int conflict = propagate();
+            if (conflict != NO_REASON) {
+                conflicts++;
+                if (decisionLevel == 0) {
+                    unsat = true;
+                    return SearchStatus.UNSOLVABLE;
+                }
+                learn(conflict);
+                varInc /= VAR_DECAY;
+            } else {
+                if (conflicts >= conflictEnd) return SearchStatus.SUSPENDED;
+                int var = pickBranchVariable();
+                if (var < 0) return SearchStatus.SOLVED; // every variable is assigned without conflict
+
+                decisions++;
+                trailLim[decisionLevel++] = trailSize;
+                enqueue(2 * var + (polarity[var] == TRUE ? 0 : 1), NO_REASON);
+            }
+        }
+    }
+
+    /**
+     * Propagates all enqueued assignments through the watched literals.
+     *
+     * @return The ref of a conflicting clause, or -1 if there is no conflict.
+     */
+    private int propagate() {
+        while (qhead < trailSize) {
+            int falseLit = trail[qhead++] ^ 1;
+            int[] ws = watches[falseLit];
+            int n = watchCount[falseLit];
+            int i = 0, j = 0;
+
+            while (i < n) {
+                int ref = ws[i++];
+                int base = ref + 1;
+                int size = arena[ref];
+
+                // Make sure the false literal is the second watch.
+                if (arena[base] == falseLit) {
+                    arena[base] = arena[base + 1];
+                    arena[base + 1] = falseLit;
+                }
+                int first = arena[base];
+                if (litValue(first) == TRUE) {
+                    ws[j++] = ref;
+                    continue;
+                }
+
+                // Look for a new literal to watch.
+                boolean moved = false;
+                for (int k = 2; k < size; k++) {
+                    int lit = arena[base + k];
+                    if (litValue(lit) != FALSE) {
+                        arena[base + 1] = lit;
+                        arena[base + k] = falseLit;
+                        watch(lit, ref);
+                        moved = true;
+                        break;
+                    }
+                }
+                if (moved) continue;
+
+                // The clause is unit or conflicting.
+                ws[j++] = ref;
+                if (litValue(first) == FALSE) {
+                    while (i < n) ws[j++] = ws[i++];
+                    watchCount[falseLit] = j;
+                    qhead = trailSize;
+                    return ref;
+                }
+                enqueue(first, ref);
+            }
+            watchCount[falseLit] = j;
+        }
+        return NO_REASON;
+    }
+
+    /**
+     * Derives the first-UIP clause of a conflict, backjumps, and asserts the clause.
+     */
+    private void learn(int conflict) {
+        int pathCount = 0;
+        int p = -1;
+        int learntSize = 1; // learnt[0] is reserved for the asserting literal
+        int index = trailSize - 1;
+        int ref = conflict;
+
+        do {
+            int base = ref + 1;
+            int size = arena[ref];
+            for (int k = (p == -1 ? 0 : 1); k < size; k++) {
+                int q = arena[base + k];
+                int var = q >> 1;
+                if (!seen[var] && level[var] > 0) {
+                    bumpActivity(var);
+                    seen[var] = true;
+                    if (level[var] >= decisionLevel) pathCount++;
+                    else learnt[learntSize++] = q;
+                }
+            }
+            // Walk back to the most recent literal involved in the conflict.
+            while (!seen[trail[index] >> 1]) index--;
+            p = trail[index--];
+            ref = reason[p >> 1];
+            seen[p >> 1] = false;
+            pathCount--;
+        } while (pathCount > 0);
+        learnt[0] = p ^ 1;
+
+        // Backjump to the second highest level in the clause, which is moved to position 1.
+        int backjumpLevel = 0;
+        for (int k = 1; k < learntSize; k++) {
+            int var = learnt[k] >> 1;
+            seen[var] = false;
+            if (level[var] > backjumpLevel) {
+                backjumpLevel = level[var];
+                int tmp = learnt[1];
+                learnt[1] = learnt[k];
+                learnt[k] = tmp;
+            }
+        }
+
+        cancelUntil(backjumpLevel);
+        if (learntSize == 1) {
+            enqueue(learnt[0], NO_REASON);
+        } else {
+            int clause = storeClause(learnt, learntSize);
+            attach(clause);
+            enqueue(learnt[0], clause);
+        }
+    }
+
+    /**
+     * Undoes all assignments above the given decision level, saving their phases.
+     */
+    private void cancelUntil(int targetLevel) {
+        if (decisionLevel <= targetLevel) return;
+        int stop = trailLim[targetLevel];
+        for (int i = trailSize - 1; i >= stop; i--) {
+            int var = trail[i] >> 1;
+            polarity[var] = assign[var];
+            assign[var] = UNDEF;
+            reason[var] = NO_REASON;
+            heapInsert(var);
+        }
+        trailSize = stop;
+        qhead = stop;
+        decisionLevel = targetLevel;
+    }
+
+    private int pickBranchVariable() {
+        while (heapSize > 0) {
+            int var = heapRemoveMax();
+            if (assign[var] == UNDEF) return var;
+        }
+        return -1;
+    }
+
+    private void enqueue(int lit, int from) {
+        int var = lit >> 1;
+        if (assign[var] != UNDEF) {
+            if (litValue(lit) == FALSE) unsat = true; // only reachable for conflicting unit clauses at level 0
+            return;
+        }
+        assign[var] = (lit & 1) == 0 ? TRUE : FALSE;
+        level[var] = decisionLevel;
+        reason[var] = from;
+        trail[trailSize++] = lit;
+    }
+
+    private byte litValue(int lit) {
+        byte value = assign[lit >> 1];
+        if (value == UNDEF) return UNDEF;
+        return (byte) (value ^ (lit & 1));
+    }
+
+    private int storeClause(int[] lits, int size) {
+        if (arenaSize + size + 1 > arena.length) {
+            arena = Arrays.copyOf(arena, Math.max(arena.length * 2, arenaSize + size + 1));
+        }
+        int ref = arenaSize;
+        arena[ref] = size;
+        System.arraycopy(lits, 0, arena, ref + 1, size);
+        arenaSize += size + 1;
+        return ref;
+    }
+
+    private void attach(int ref) {
+        watch(arena[ref + 1], ref);
+        watch(arena[ref + 2], ref);
+    }
+
+    private void watch(int lit, int ref) {
+        if (watchCount[lit] == watches[lit].length) {
+            watches[lit] = Arrays.copyOf(watches[lit], watches[lit].length * 2);
+        }
+        watches[lit][watchCount[lit]++] = ref;
+    }
+
+    private void bumpActivity(int var) {
+        if ((activity[var] += varInc) > RESCALE_LIMIT) {
+            for (int v = 0; v < numVars; v++) {
+                activity[v] /= RESCALE_LIMIT;
+            }
+            varInc /= RESCALE_LIMIT;
+        }
+        if (heapIndex[var] >= 0) siftUp(heapIndex[var]);
+    }
+
+    private void heapInsert(int var) {
+        if (heapIndex[var] >= 0) return;
+        heap[heapSize] = var;
+        heapIndex[var] = heapSize;
+        siftUp(heapSize++);
+    }
+
+    private int heapRemoveMax() {
+        int top = heap[0];
+        heapIndex[top] = -1;
+        int last = heap[--heapSize];
+        if (heapSize > 0) {
+            heap[0] = last;
+            heapIndex[last] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    private void siftUp(int i) {
+        int var = heap[i];
+        while (i > 0) {
+            int parent = (i - 1) >> 1;
+            if (activity[heap[parent]] >= activity[var]) break;
+            heap[i] = heap[parent];
+            heapIndex[heap[i]] = i;
+            i = parent;
+        }
+        heap[i] = var;
+        heapIndex[var] = i;
+    }
+
+    private void siftDown(int i) {
+        int var = heap[i];
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= heapSize) break;
+            if (child + 1 < heapSize && activity[heap[child + 1]] > activity[heap[child]]) child++;
+            if (activity[heap[child]] <= activity[var]) break;
+            heap[i] = heap[child];
+            heapIndex[heap[i]] = i;
+            i = child;
+        }
+        heap[i] = var;
+        heapIndex[var] = i;
+    }
+
+    /**
+     * Returns the i-th element (0-based) of the Luby sequence 1, 1, 2, 1, 1, 2, 4, 1, 1, 2, ...
+     */
+    private static long luby(int i) {
+        int size = 1, seq = 0;
+        while (size < i + 1) {
+            seq++;
+            size = 2 * size + 1;
+        }
+        while (size - 1 != i) {
+            size = (size - 1) >> 1;
+            seq--;
+            i = i % size;
+        }
+        return 1L << seq;
+    }
+}
@@ -0,0 +1,79 @@
+package vn.rmit.cosc2469;
+
+import java.util.Arrays;
+
+/**
+ * LongHashSet is a fixed-capacity, open-addressed set of {@code long} keys with linear probing.
+ * It stores keys in primitive arrays, so adding and looking up keys never allocates.
+ * <p>
+ * It is meant for well-mixed keys such as Zobrist hashes: the low bits of the key are used
+ * directly as the slot index. Keys cannot be removed individually; {@link #clear()} empties the set.
+ * A slot is in use only if its stamp equals the current generation, so clearing just starts
+ * a new generation and is O(1).
+ */
+class LongHashSet {
+    private final long[] slots;
+    private final int[] stamps;         // generation in which each slot was filled
+    private final int mask;
+    private int generation = 1;
+    private int size = 0;
+
+    /**
+     * @param capacity The number of slots, rounded up to a power of two.
+     */
+    LongHashSet(int capacity) {
+        int slotCount = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.slots = new long[slotCount];
+        this.stamps = new int[slotCount];
+        this.mask = slotCount - 1;
+    }
+
+    /**
+     * Adds a key to the set.
+     *
+     * @param key The key to add.
+     * @return true if the key was not already present.
+     * @throws IllegalStateException if the set is full.
+     */
+    boolean add(long key) {
+        int index = (int) key & mask;
+        while (stamps[index] == generation) {
+            if (slots[index] == key) return false;
+            index = (index + 1) & mask;
+        }
+        if (size >= mask) {
+            throw new IllegalStateException("LongHashSet is full.");
+        }
+        slots[index] = key;
+        stamps[index] = generation;
+        size++;
+        return true;
+    }
+
+    boolean contains(long key) {
+        int index = (int) key & mask;
+        while (stamps[index] == generation) {
+            if (slots[index] == key) return true;
+            index = (index + 1) & mask;
+        }
+        return false;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int capacity() {
+        return slots.length;
+    }
+
+    void clear() {
+        generation++;
+        if (generation == 0) {
+            // the stamps wrapped around: old ones could match again, so wipe them once
+            Arrays.fill(stamps, 0);
+            generation = 1;
+        }
+        size = 0;
+    }
+}
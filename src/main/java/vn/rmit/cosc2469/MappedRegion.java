@@ -0,0 +1,56 @@
+package vn.rmit.cosc2469;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * MappedRegion maps a region of a file that may be larger than a single {@link MappedByteBuffer}
+ * (2 GB) as consecutive segments, and addresses it with {@code long} offsets.
+ * <p>
+ * Values must not straddle two segments, so the segment size has to be a multiple of the size of
+ * every structure stored in the region. Only absolute reads and writes are used, so threads writing
+ * to disjoint parts of the region do not interfere.
+ */
+final class MappedRegion {
+    private final MappedByteBuffer[] segments;
+    private final long segmentBytes;
+
+    /**
+     * Maps {@code length} bytes of the channel starting at {@code position}. In read-write mode the
+     * file is extended as needed, and bytes beyond its previous end read as zero.
+     */
+    MappedRegion(FileChannel channel, FileChannel.MapMode mode, long position, long length, long segmentBytes) throws IOException {
+        this.segmentBytes = segmentBytes;
+        this.segments = new MappedByteBuffer[(int) ((length + segmentBytes - 1) / segmentBytes)];
+        for (int i = 0; i < segments.length; i++) {
+            long offset = i * segmentBytes;
+            segments[i] = channel.map(mode, position + offset, Math.min(segmentBytes, length - offset));
+        }
+    }
+
+    long getLong(long offset) {
+        return segments[(int) (offset / segmentBytes)].getLong((int) (offset % segmentBytes));
+    }
+
+    void putLong(long offset, long value) {
+        segments[(int) (offset / segmentBytes)].putLong((int) (offset % segmentBytes), value);
+    }
+
+    byte get(long offset) {
+        return segments[(int) (offset / segmentBytes)].get((int) (offset % segmentBytes));
+    }
+
+    void put(long offset, byte value) {
+        segments[(int) (offset / segmentBytes)].put((int) (offset % segmentBytes), value);
+    }
+
+    /**
+     * Writes any changes to the mapped segments back to the storage device.
+     */
+    void force() {
+        for (MappedByteBuffer segment : segments) {
+            segment.force();
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package vn.rmit.cosc2469;
+
+import java.util.Arrays;
+
+/**
+ * MrvBucketQueue keeps the empty cells of a 9x9 board bucketed by candidate count (0–9), so that the
+ * next cell to branch on can be picked without scanning or sorting all empty cells at every node.
+ * <p>
+ * Each bucket is an 81-bit set of cells held in two {@code long}s and a bitmask records which buckets
+ * are non-empty, so finding the lowest non-empty bucket and moving a cell between buckets when its
+ * candidate mask changes are both O(1). The degree of every cell (its number of empty peers) is kept
+ * up to date alongside, for tie-breaking; selection scans the cells of the lowest bucket to apply it,
+ * which is cheap because that bucket holds few cells in practice.
+ *
+ * <h2>Selection Order</h2>
+ * Fewest candidates first (MRV); ties are broken by the highest degree, i.e. the cell that
+ * constrains the most other empty cells, then by the lowest cell index. The order only depends
+ * on the board, so a search resumed from a checkpoint makes the same choices.
+ */
+class MrvBucketQueue {
+    static final int CELLS = 81;
+    private static final int PEERS = 20;
+    private static final int NONE = -1;
+    static final int[][] PEER_TABLE = createPeerTable();
+
+    private final int[] count = new int[CELLS];         // candidate count, or NONE if the cell is filled
+    private final int[] degree = new int[CELLS];        // empty peers of every cell, filled or not
+    private final long[] buckets = new long[20];        // bucket k holds cells 0..63 at 2k and cells 64..80 at 2k + 1
+    private int bucketMask = 0;                         // bit k set if bucket k is non-empty
+
+    /**
+     * Rebuilds the queue from a board.
+     *
+     * @param board      The 81 cells in row-major order, 0 for empty.
+     * @param candidates The candidate mask of every empty cell.
+     */
+    void reset(int[] board, int[] candidates) {
+        Arrays.fill(buckets, 0);
+        Arrays.fill(count, NONE);
+        bucketMask = 0;
+        for (int cell = 0; cell < CELLS; cell++) {
+            int empty = 0;
+            for (int peer : PEER_TABLE[cell]) {
+                if (board[peer] == 0) empty++;
+            }
+            degree[cell] = empty;
+            if (board[cell] == 0) link(cell, Integer.bitCount(candidates[cell]));
+        }
+    }
+
+    /**
+     * @return The empty cell with the fewest candidates (highest degree on ties), or -1 if there is none.
+     */
+    int selectMin() {
+        if (bucketMask == 0) return NONE;
+        int k = Integer.numberOfTrailingZeros(bucketMask);
+        int chosen = NONE;
+        int bestDegree = -1;
+        for (long bits = buckets[2 * k]; bits != 0; bits &= bits - 1) {
+            int cell = Long.numberOfTrailingZeros(bits);
+            if (degree[cell] > bestDegree) {
+                bestDegree = degree[cell];
+                chosen = cell;
+            }
+        }
+        for (long bits = buckets[2 * k + 1]; bits != 0; bits &= bits - 1) {
+            int cell = 64 + Long.numberOfTrailingZeros(bits);
+            if (degree[cell] > bestDegree) {
+                bestDegree = degree[cell];
+                chosen = cell;
+            }
+        }
+        return chosen;
+    }
+
+    /**
+     * Removes a cell that has just been filled and lowers the degree of its peers.
+     */
+    void remove(int cell) {
+        unlink(cell);
+        for (int peer : PEER_TABLE[cell]) {
+            degree[peer]--;
+        }
+    }
+
+    /**
+     * Re-inserts a cell that has just been cleared and raises the degree of its peers.
+     *
+     * @param candidates The candidate count of the cell.
+     */
+    void insert(int cell, int candidates) {
+        for (int peer : PEER_TABLE[cell]) {
+            degree[peer]++;
+        }
+        link(cell, candidates);
+    }
+
+    /**
+     * Moves an empty cell to the bucket for its candidate count plus {@code delta}.
+     * The cell must be in the queue.
+     */
+    void adjust(int cell, int delta) {
+        int k = count[cell];
+        int half = cell >>> 6;
+        long bit = 1L << cell; // shifts are mod 64, so this is the cell's bit within its half
+        buckets[2 * k + half] ^= bit;
+        if ((buckets[2 * k] | buckets[2 * k + 1]) == 0) bucketMask &= ~(1 << k);
+        k += delta;
+        buckets[2 * k + half] ^= bit;
+        bucketMask |= 1 << k;
+        count[cell] = k;
+    }
+
+    private void link(int cell, int k) {
+        buckets[2 * k + (cell >>> 6)] |= 1L << cell;
+        count[cell] = k;
+        bucketMask |= 1 << k;
+    }
+
+    private void unlink(int cell) {
+        int k = count[cell];
+        count[cell] = NONE;
+        buckets[2 * k + (cell >>> 6)] &= ~(1L << cell);
+        if ((buckets[2 * k] | buckets[2 * k + 1]) == 0) bucketMask &= ~(1 << k);
+    }
+
+    /**
+     * Lists the 20 peers (same row, column or box) of every cell.
+     */
+    private static int[][] createPeerTable() {
+        int[][] table = new int[CELLS][PEERS];
+        for (int cell = 0; cell < CELLS; cell++) {
+            int row = cell / 9, col = cell % 9;
+            int boxRow = row - row % 3, boxCol = col - col % 3;
+            int n = 0;
+            for (int other = 0; other < CELLS; other++) {
+                if (other == cell) continue;
+                int r = other / 9, c = other % 9;
+                if (r == row || c == col || (r - r % 3 == boxRow && c - c % 3 == boxCol)) {
+                    table[cell][n++] = other;
+                }
+            }
+        }
+        return table;
+    }
+}
@@ -5,22 +5,32 @@ import java.util.*;
 /**
  * RMIT_Sudoku_Solver is a backtracking-based Sudoku solver that uses
  * constraint-based heuristics (Minimum Remaining Value) to optimize search.
+ * Empty cells are kept in a {@link MrvBucketQueue}, so the next cell is picked in O(1),
+ * with ties broken by degree (the cell with the most empty peers).
+ * <p>
+ * The solver itself only holds its logger: masks, the cell queue and the search stack live in a
+ * per-thread {@link BacktrackingContext} that is reused from one puzzle to the next. Without a logger,
+ * one instance can be shared by any number of threads, and {@link #solve(int[][], int[][])} does not
+ * allocate once the calling thread's context exists.
+ * <p>
+ * The search runs as an iteration over an explicit stack held in a {@link SolverCheckpoint},
+ * so it can be paused at a node budget, serialised, and resumed later without losing work.
  *
  * <h2>Algorithm Type</h2>
- * Backtracking (DFS) with MRV heuristic.
+ * Backtracking (DFS) with MRV heuristic and degree tie-breaking.
  *
  * <h2>Time and Space Complexity</h2>
  * <ul>
  *     <li>Worst-case time complexity: O(9^n), where n is the number of empty cells.</li>
  *     <li>Best-case: Much less due to pruning on nearly-filled boards.</li>
- *     <li>Space complexity: O(n) in recursion depth (maximum 81 levels).</li>
+ *     <li>Space complexity: O(n) for the explicit stack (maximum 81 levels).</li>
  * </ul>
  */
 public class RMIT_Sudoku_Solver {
     private static final long TIME_LIMIT = 2 * 60 * 1000; // 2 minutes
-    private long startTime;
+    private static final long TIME_CHECK_INTERVAL = 4096; // nodes between timeout checks
+
     private SolverLogger logger;
-    private int stepCounter = 0;
 
     /**
      * Injects a logger instance to capture solving steps.
@@ -39,87 +49,207 @@ public class RMIT_Sudoku_Solver {
      * @throws RuntimeException if the time limit is exceeded or no solution is found.
      */
     public int[][] solve(int[][] puzzle) {
-        startTime = System.currentTimeMillis();
-
-        // Deep copy the puzzle to avoid modifying the original input.
         int[][] board = new int[9][9];
-        for (int r = 0; r < 9; r++) {
-            System.arraycopy(puzzle[r], 0, board[r], 0, 9);
-        }
-
-        if (solveSudoku(board)) return board;
-        else throw new RuntimeException("No solution found within time limit.");
+        solve(puzzle, board);
+        return board;
     }
 
     /**
-     * Recursive backtracking function that uses the MRV (Minimum Remaining Values) heuristic.
-     * It selects the empty cell with the fewest candidates, then tries each candidate in turn.
-     * If a candidate leads to a dead-end (i.e. no solution in recursion), it backtracks.
-     * <p>
-     * Explicit logging is used to trace the decision process.
+     * Solves a Sudoku puzzle into a caller-provided board, without allocating.
+     *
+     * @param puzzle   A 9x9 grid with 0 representing empty cells; it is not modified.
+     * @param solution A 9x9 grid that receives the solved board.
+     * @throws RuntimeException if the time limit is exceeded or no solution is found.
      */
-    private boolean solveSudoku(int[][] board) {
-        // Timeout check.
-        if (System.currentTimeMillis() - startTime > TIME_LIMIT) {
-            throw new RuntimeException("Time limit exceeded.");
-        }
+    public void solve(int[][] puzzle, int[][] solution) {
+        long startTime = System.currentTimeMillis();
+        BacktrackingContext context = BacktrackingContext.get();
 
-        // Collect all empty cells along with their candidate lists.
-        List<CellOptions> allOptions = new ArrayList<>();
-        for (int r = 0; r < 9; r++) {
-            for (int c = 0; c < 9; c++) {
-                if (board[r][c] == 0) {
-                    List<Integer> candidates = getCandidates(board, r, c);
-                    allOptions.add(new CellOptions(r, c, candidates));
-                }
+        // The checkpoint holds its own copy of the puzzle, so the original input is not modified.
+        SolverCheckpoint checkpoint = context.checkpoint;
+        checkpoint.load(puzzle);
+
+        while (true) {
+            SearchStatus status = resume(context, checkpoint, TIME_CHECK_INTERVAL);
+            if (status == SearchStatus.SOLVED) {
+                checkpoint.copyBoardTo(solution);
+                return;
+            }
+            if (status == SearchStatus.UNSOLVABLE) {
+                throw new RuntimeException("No solution found within time limit.");
+            }
+            // Timeout check.
+            if (System.currentTimeMillis() - startTime > TIME_LIMIT) {
+                throw new RuntimeException("Time limit exceeded.");
             }
         }
+    }
 
-        // If there are no empty cells, the board is solved.
-        if (allOptions.isEmpty()) return true;
+    /**
+     * Continues the search held by the checkpoint for at most {@code nodeBudget} node expansions.
+     * The checkpoint is updated in place; when the result is {@link SearchStatus#SUSPENDED} it can
+     * be passed to this method again (or serialised with {@link SolverCheckpoint#toBytes()}) to
+     * carry on from exactly where the search stopped.
+     *
+     * @param checkpoint The search state to continue, e.g. from {@link SolverCheckpoint#of(int[][])}.
+     * @param nodeBudget The maximum number of nodes to expand before suspending.
+     * @return The status of the search after this run.
+     */
+    public SearchStatus resume(SolverCheckpoint checkpoint, long nodeBudget) {
+        return resume(BacktrackingContext.get(), checkpoint, nodeBudget);
+    }
 
-        // Use MRV: select the empty cell with the fewest candidate options.
-        allOptions.sort(Comparator.comparingInt(o -> o.candidates.size()));
-        CellOptions chosen = allOptions.get(0);
+    private SearchStatus resume(BacktrackingContext context, SolverCheckpoint checkpoint, long nodeBudget) {
+        int[] board = checkpoint.board;
+        loadMasks(context, board);
 
-        // Log the evaluation of all empty cells and the decision.
-        if (logger != null) {
-            logger.logStep("Evaluating all empty cells:");
-            for (CellOptions option : allOptions) {
-                logger.logStep("- Cell (" + (option.row + 1) + "," + (option.col + 1) + ") has options: " + option.candidates);
+        long budget = nodeBudget;
+        while (true) {
+            if (checkpoint.descend) {
+                if (budget <= 0) return SearchStatus.SUSPENDED;
+                budget--;
+                checkpoint.nodes++;
+
+                // Use MRV: select the empty cell with the fewest candidate options.
+                int chosen = selectCell(context, board);
+
+                // If there are no empty cells, the board is solved.
+                if (chosen < 0) return SearchStatus.SOLVED;
+
+                int options = candidateMask(context, chosen);
+                int depth = checkpoint.depth++;
+                checkpoint.stackCell[depth] = chosen;
+                checkpoint.stackOptions[depth] = options;
+                checkpoint.stackRemaining[depth] = options;
+                checkpoint.descend = false;
             }
-            logger.logStep("→ Choosing cell (" + (chosen.row + 1) + "," + (chosen.col + 1) + ") because it has the fewest options: " + chosen.candidates);
-        }
 
-        int row = chosen.row;
-        int col = chosen.col;
-        List<Integer> candidates = chosen.candidates;
+            // No decision left to revisit: the whole search space has been explored.
+            if (checkpoint.depth == 0) return SearchStatus.UNSOLVABLE;
+
+            int top = checkpoint.depth - 1;
+            int cell = checkpoint.stackCell[top];
+            int row = cell / 9;
+            int col = cell % 9;
+
+            // Undo the previous candidate tried at this level, if any.
+            if (board[cell] != 0) {
+                // Log that the candidate leads to a dead-end and backtracking is occurring.
+                if (logger != null) {
+                    logger.logStep("Candidate " + board[cell] + " at (" + (row + 1) + "," + (col + 1) + ") leads to dead-end. Backtracking.");
+                }
+                clear(context, board, cell);
+            }
+
+            int remaining = checkpoint.stackRemaining[top];
+            if (remaining == 0) {
+                // If none of the candidates led to a solution, log the dead-end condition at this cell.
+                if (logger != null) {
+                    logger.logStep("All candidates for cell (" + (row + 1) + "," + (col + 1) + ") exhausted " + toList(checkpoint.stackOptions[top]) + ". Dead-end reached, backtracking to previous decision.");
+                }
+                checkpoint.depth--;
+                continue;
+            }
+
+            // Try the next (lowest) candidate for the chosen cell.
+            int num = Integer.numberOfTrailingZeros(remaining);
+            checkpoint.stackRemaining[top] = remaining & (remaining - 1);
 
-        // Try each candidate for the chosen cell.
-        for (int num : candidates) {
             // Log the candidate attempt.
             if (logger != null) {
-                stepCounter++;
                 String reason = explainConflicts(board, row, col, num);
-                logger.logStep(stepCounter + ". Trying (" + (row + 1) + "," + (col + 1) + ") = " + num + " → " + reason + " | Options: " + candidates);
+                logger.logStep(logger.nextStep() + ". Trying (" + (row + 1) + "," + (col + 1) + ") = " + num + " → " + reason + " | Options: " + toList(checkpoint.stackOptions[top]));
             }
 
-            board[row][col] = num;
-            if (solveSudoku(board)) return true;
+            place(context, board, cell, num);
+            checkpoint.descend = true;
+        }
+    }
 
-            // Log that candidate 'num' leads to a dead-end and backtracking is occurring.
-            if (logger != null) {
-                logger.logStep("Candidate " + num + " at (" + (row + 1) + "," + (col + 1) + ") leads to dead-end. Backtracking.");
+    /**
+     * Finds the empty cell with the fewest candidates, or -1 if the board is full.
+     * Ties are broken by the highest degree (number of empty peers).
+     */
+    private int selectCell(BacktrackingContext context, int[] board) {
+        int chosen = context.queue.selectMin();
+
+        // Log the evaluation of all empty cells and the decision.
+        if (logger != null && chosen >= 0) {
+            logger.logStep("Evaluating all empty cells:");
+            // List cells by increasing number of options, row-major within the same count.
+            for (int count = 0; count <= 9; count++) {
+                for (int cell = 0; cell < SolverCheckpoint.CELLS; cell++) {
+                    if (board[cell] == 0 && Integer.bitCount(candidateMask(context, cell)) == count) {
+                        logger.logStep("- Cell (" + (cell / 9 + 1) + "," + (cell % 9 + 1) + ") has options: " + toList(candidateMask(context, cell)));
+                    }
+                }
             }
-            board[row][col] = 0; // Backtrack.
+            logger.logStep("→ Choosing cell (" + (chosen / 9 + 1) + "," + (chosen % 9 + 1) + ") because it has the fewest options: " + toList(candidateMask(context, chosen)));
         }
+        return chosen;
+    }
 
-        // If none of the candidates led to a solution, log the dead-end condition at this cell.
-        if (logger != null) {
-            logger.logStep("All candidates for cell (" + (row + 1) + "," + (col + 1) + ") exhausted " + candidates + ". Dead-end reached, backtracking to previous decision.");
+    /**
+     * Rebuilds the candidate masks, the blocker counts and the cell queue from the board.
+     */
+    private void loadMasks(BacktrackingContext context, int[] board) {
+        int[] blockers = context.blockers;
+        int[] candidates = context.candidates;
+        Arrays.fill(blockers, 0);
+        for (int cell = 0; cell < SolverCheckpoint.CELLS; cell++) {
+            if (board[cell] != 0) {
+                for (int peer : MrvBucketQueue.PEER_TABLE[cell]) {
+                    blockers[peer * 10 + board[cell]]++;
+                }
+            }
+        }
+        for (int cell = 0; cell < SolverCheckpoint.CELLS; cell++) {
+            int mask = 0;
+            for (int digit = 1; digit <= 9; digit++) {
+                if (blockers[cell * 10 + digit] == 0) mask |= 1 << digit;
+            }
+            candidates[cell] = mask;
+        }
+        context.queue.reset(board, candidates);
+    }
+
+    /**
+     * Places a digit: every peer gains a blocker for it, and empty peers that lose it as a candidate
+     * move down one bucket.
+     */
+    private void place(BacktrackingContext context, int[] board, int cell, int num) {
+        int bit = 1 << num;
+        int[] blockers = context.blockers;
+        int[] candidates = context.candidates;
+        MrvBucketQueue queue = context.queue;
+        for (int peer : MrvBucketQueue.PEER_TABLE[cell]) {
+            if (blockers[peer * 10 + num]++ == 0) {
+                candidates[peer] &= ~bit;
+                if (board[peer] == 0) queue.adjust(peer, -1);
+            }
         }
+        board[cell] = num;
+        queue.remove(cell);
+    }
 
-        return false;
+    /**
+     * Clears a cell: every peer loses a blocker for its digit, and empty peers that regain it as a
+     * candidate move up one bucket.
+     */
+    private void clear(BacktrackingContext context, int[] board, int cell) {
+        int num = board[cell];
+        int bit = 1 << num;
+        int[] blockers = context.blockers;
+        int[] candidates = context.candidates;
+        MrvBucketQueue queue = context.queue;
+        board[cell] = 0;
+        for (int peer : MrvBucketQueue.PEER_TABLE[cell]) {
+            if (--blockers[peer * 10 + num] == 0) {
+                candidates[peer] |= bit;
+                if (board[peer] == 0) queue.adjust(peer, 1);
+            }
+        }
+        queue.insert(cell, Integer.bitCount(candidates[cell]));
     }
 
     /**
@@ -127,18 +257,18 @@ public class RMIT_Sudoku_Solver {
      * Returns a string explaining if there are row, column, or box conflicts.
      * If there are no conflicts, returns "no conflicts, trying value".
      */
-    private String explainConflicts(int[][] board, int row, int col, int num) {
+    private String explainConflicts(int[] board, int row, int col, int num) {
         List<String> reasons = new ArrayList<>();
 
         // Check row conflicts.
         for (int i = 0; i < 9; i++) {
-            if (board[row][i] == num) {
+            if (board[row * 9 + i] == num) {
                 reasons.add("row conflict with (" + (row + 1) + "," + (i + 1) + ")");
             }
         }
         // Check column conflicts.
         for (int i = 0; i < 9; i++) {
-            if (board[i][col] == num) {
+            if (board[i * 9 + col] == num) {
                 reasons.add("col conflict with (" + (i + 1) + "," + (col + 1) + ")");
             }
         }
@@ -147,7 +277,7 @@ public class RMIT_Sudoku_Solver {
         int boxStartCol = col - col % 3;
         for (int i = boxStartRow; i < boxStartRow + 3; i++) {
             for (int j = boxStartCol; j < boxStartCol + 3; j++) {
-                if (board[i][j] == num) {
+                if (board[i * 9 + j] == num) {
                     reasons.add("3x3 conflict with (" + (i + 1) + "," + (j + 1) + ")");
                 }
             }
@@ -156,46 +286,23 @@ public class RMIT_Sudoku_Solver {
     }
 
     /**
-     * Returns a list of valid candidates (numbers 1–9) for a given cell,
+     * Returns the valid candidates (numbers 1–9) for a given cell as a bitmask,
      * considering the Sudoku rules (row, column, and 3x3 box constraints).
      */
-    private List<Integer> getCandidates(int[][] board, int row, int col) {
-        boolean[] used = new boolean[10]; // Index 0 is unused.
+    private static int candidateMask(BacktrackingContext context, int cell) {
+        return context.candidates[cell];
+    }
 
-        // Mark numbers used in the current row and column.
-        for (int i = 0; i < 9; i++) {
-            used[board[row][i]] = true;
-            used[board[i][col]] = true;
-        }
-        // Mark numbers used in the 3x3 box.
-        int boxRow = row - row % 3;
-        int boxCol = col - col % 3;
-        for (int i = 0; i < 3; i++) {
-            for (int j = 0; j < 3; j++) {
-                used[board[boxRow + i][boxCol + j]] = true;
-            }
-        }
-        // Collect numbers that are not used.
+    /**
+     * Expands a candidate bitmask into a list of numbers, for logging.
+     */
+    private static List<Integer> toList(int mask) {
         List<Integer> candidates = new ArrayList<>();
         for (int num = 1; num <= 9; num++) {
-            if (!used[num]) {
+            if ((mask & (1 << num)) != 0) {
                 candidates.add(num);
             }
         }
         return candidates;
     }
-
-    /**
-     * Helper class to store an empty cell's coordinates along with its candidate options.
-     */
-    private static class CellOptions {
-        int row, col;
-        List<Integer> candidates;
-
-        CellOptions(int row, int col, List<Integer> candidates) {
-            this.row = row;
-            this.col = col;
-            this.candidates = candidates;
-        }
-    }
 }
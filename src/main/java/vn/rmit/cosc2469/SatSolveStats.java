@@ -0,0 +1,47 @@
+package vn.rmit.cosc2469;
+
+/**
+ * SatSolveStats receives the search statistics of one call to {@link Sudoku_SAT_Solver}.
+ * <p>
+ * The solver resets the values at the start of every call it is passed to, so a call that fails
+ * before searching reports zeros rather than the previous call's values. The object belongs to the
+ * caller and must not be shared by calls running concurrently.
+ */
+public class SatSolveStats {
+    long conflicts = 0;
+    long decisions = 0;
+    long restarts = 0;
+
+    void reset() {
+        conflicts = 0;
+        decisions = 0;
+        restarts = 0;
+    }
+
+    void update(CdclSatSolver sat) {
+        conflicts = sat.getConflicts();
+        decisions = sat.getDecisions();
+        restarts = sat.getRestarts();
+    }
+
+    /**
+     * @return The number of conflicts (learnt clauses) of the call.
+     */
+    public long getConflicts() {
+        return conflicts;
+    }
+
+    /**
+     * @return The number of branching decisions of the call.
+     */
+    public long getDecisions() {
+        return decisions;
+    }
+
+    /**
+     * @return The number of restarts of the call.
+     */
+    public long getRestarts() {
+        return restarts;
+    }
+}
@@ -0,0 +1,13 @@
+package vn.rmit.cosc2469;
+
+/**
+ * Outcome of running a search for a bounded budget.
+ */
+public enum SearchStatus {
+    /** The board held by the checkpoint is a complete solution. */
+    SOLVED,
+    /** The budget ran out; the checkpoint can be resumed to continue the search. */
+    SUSPENDED,
+    /** The search space is exhausted; the puzzle has no solution. */
+    UNSOLVABLE
+}
@@ -0,0 +1,146 @@
+package vn.rmit.cosc2469;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static vn.rmit.cosc2469.SolutionFileWriter.*;
+
+/**
+ * SolutionFileReader gives random access to a results file written by {@link SolutionFileWriter}.
+ * The file is memory-mapped read-only; records are addressed by slot, and {@link #find(long)} looks
+ * a puzzle id up in the file's index in O(1) on average, without loading anything onto the heap.
+ */
+public class SolutionFileReader implements Closeable {
+    private final FileChannel channel;
+    private final MappedRegion records;
+    private final MappedRegion index;
+    private final long count;
+    private final long indexSlots;
+
+    /**
+     * Opens a results file.
+     *
+     * @param file The file to read.
+     * @throws IOException if the file cannot be read, is not a results file, or was not closed by its writer.
+     */
+    public SolutionFileReader(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            if (channel.size() < HEADER_BYTES || channel.read(header, 0) < HEADER_BYTES
+                    || header.getInt(MAGIC_OFFSET) != MAGIC || header.getInt(RECORD_BYTES_OFFSET) != RECORD_BYTES) {
+                throw new IOException("Not a solution file: " + file);
+            }
+            long capacity = header.getLong(CAPACITY_OFFSET);
+            this.count = header.getLong(COUNT_OFFSET);
+            this.indexSlots = header.getLong(INDEX_SLOTS_OFFSET);
+            if (indexSlots == 0) {
+                throw new IOException("Solution file was not closed by its writer: " + file);
+            }
+            long indexStart = HEADER_BYTES + capacity * RECORD_BYTES;
+            if (channel.size() < indexStart + indexSlots * INDEX_ENTRY_BYTES) {
+                throw new IOException("Solution file is truncated: " + file);
+            }
+            this.records = new MappedRegion(channel, FileChannel.MapMode.READ_ONLY, HEADER_BYTES,
+                    count * RECORD_BYTES, SEGMENT_BYTES);
+            this.index = new MappedRegion(channel, FileChannel.MapMode.READ_ONLY, indexStart,
+                    indexSlots * INDEX_ENTRY_BYTES, SEGMENT_BYTES);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return The number of slots in the file, including any that were reserved but never written.
+     */
+    public long size() {
+        return count;
+    }
+
+    /**
+     * Looks up the record of a puzzle.
+     *
+     * @param puzzleId The puzzle id given to {@link SolutionFileWriter#append}.
+     * @return The slot of the record, or -1 if there is none.
+     */
+    public long find(long puzzleId) {
+        long mask = indexSlots - 1;
+        for (long entry = indexHash(puzzleId, indexSlots); ; entry = (entry + 1) & mask) {
+            long slot = index.getLong(entry * INDEX_ENTRY_BYTES + 8);
+            if (slot == 0) return -1;
+            if (index.getLong(entry * INDEX_ENTRY_BYTES) == puzzleId) return slot - 1;
+        }
+    }
+
+    /**
+     * @return The status stored in the slot, or null if the slot was never written.
+     * @throws IllegalStateException if the slot holds an unknown status code, e.g. in a corrupt file.
+     */
+    public SearchStatus getStatus(long slot) {
+        int code = records.get(offset(slot) + STATUS_OFFSET) & 0xFF;
+        switch (code) {
+            case 0:
+                return null;
+            case STATUS_SOLVED:
+                return SearchStatus.SOLVED;
+            case STATUS_SUSPENDED:
+                return SearchStatus.SUSPENDED;
+            case STATUS_UNSOLVABLE:
+                return SearchStatus.UNSOLVABLE;
+            default:
+                throw new IllegalStateException("Unknown status code " + code + " in slot " + slot + ".");
+        }
+    }
+
+    public long getPuzzleId(long slot) {
+        return records.getLong(offset(slot) + ID_OFFSET);
+    }
+
+    public long getNanos(long slot) {
+        return records.getLong(offset(slot) + NANOS_OFFSET);
+    }
+
+    public long getNodes(long slot) {
+        return records.getLong(offset(slot) + NODES_OFFSET);
+    }
+
+    /**
+     * Copies the board stored in the slot into an existing 9x9 grid.
+     */
+    public void readSolution(long slot, int[][] board) {
+        long base = offset(slot) + SOLUTION_OFFSET;
+        for (int r = 0; r < 9; r++) {
+            for (int c = 0; c < 9; c++) {
+                board[r][c] = records.get(base + r * 9 + c);
+            }
+        }
+    }
+
+    /**
+     * @return The board stored for the puzzle, or null if the file has no record for it.
+     */
+    public int[][] findSolution(long puzzleId) {
+        long slot = find(puzzleId);
+        if (slot < 0) return null;
+        int[][] board = new int[9][9];
+        readSolution(slot, board);
+        return board;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private long offset(long slot) {
+        if (slot < 0 || slot >= count) {
+            throw new IndexOutOfBoundsException("Slot " + slot + " out of range [0, " + count + ")");
+        }
+        return slot * RECORD_BYTES;
+    }
+}
@@ -0,0 +1,218 @@
+package vn.rmit.cosc2469;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * SolutionFileWriter appends solver results to a preallocated, memory-mapped file of fixed-width
+ * records, so that millions of solutions can be persisted without going through the console or
+ * per-puzzle files. It is safe to use from many solver threads at once.
+ *
+ * <h2>Concurrency</h2>
+ * Every {@link #append} reserves the next free slot with a single atomic increment and then writes
+ * its record straight into the mapping, so writers never wait for each other. {@link #close()} seals
+ * the slot counter in the same atomic way, so appends that start after it are rejected; it must still
+ * only be called once the appends already in progress are done.
+ *
+ * <h2>File Layout</h2>
+ * All numbers are big-endian.
+ * <ul>
+ *     <li>Header ({@value #HEADER_BYTES} bytes): magic, record size, capacity, record count,
+ *     number of index slots. The count and index size are only set by {@link #close()}.</li>
+ *     <li>{@code capacity} records of {@value #RECORD_BYTES} bytes: puzzle id, solve time in nanoseconds,
+ *     node count, the 81 cells in row-major order (one byte each, 0 for empty), then the status code
+ *     (1 solved, 2 suspended, 3 unsolvable). The status is written last, so 0 marks an unwritten slot.
+ *     The codes are fixed by the format and do not depend on the order of {@link SearchStatus}.</li>
+ *     <li>An index written on close: an open-addressed hash table of (puzzle id, slot + 1) pairs,
+ *     used by {@link SolutionFileReader} to find a record by puzzle id without scanning the file.</li>
+ * </ul>
+ */
+public class SolutionFileWriter implements Closeable {
+    static final int MAGIC = 0x53444B52;            // "SDKR"
+    static final int HEADER_BYTES = 32;
+    static final int RECORD_BYTES = 112;            // 8 + 8 + 8 + 81 + 1, padded to a multiple of 16
+    static final int INDEX_ENTRY_BYTES = 16;
+    static final long SEGMENT_BYTES = (long) RECORD_BYTES << 23; // multiple of both record and index entry sizes
+    static final int CELLS = 81;
+
+    // Offsets of the header fields.
+    static final int MAGIC_OFFSET = 0;
+    static final int RECORD_BYTES_OFFSET = 4;
+    static final int CAPACITY_OFFSET = 8;
+    static final int COUNT_OFFSET = 16;
+    static final int INDEX_SLOTS_OFFSET = 24;
+
+    // Offsets of the fields within a record.
+    static final int ID_OFFSET = 0;
+    static final int NANOS_OFFSET = 8;
+    static final int NODES_OFFSET = 16;
+    static final int SOLUTION_OFFSET = 24;
+    static final int STATUS_OFFSET = SOLUTION_OFFSET + CELLS;
+
+    // Status codes stored in a record; 0 marks an unwritten slot.
+    static final byte STATUS_SOLVED = 1;
+    static final byte STATUS_SUSPENDED = 2;
+    static final byte STATUS_UNSOLVABLE = 3;
+
+    // Slot counter value once closed: far enough below zero that later increments keep it negative.
+    private static final long SEALED = Long.MIN_VALUE / 2;
+
+    private final FileChannel channel;
+    private final MappedRegion records;
+    private final long capacity;
+    private final AtomicLong nextSlot = new AtomicLong();
+    private volatile boolean closed = false;
+    private volatile long sealedCount = 0;  // number of slots reserved before close()
+
+    /**
+     * Creates (or truncates) the file and preallocates room for {@code capacity} records.
+     *
+     * @param file     The file to write.
+     * @param capacity The maximum number of records.
+     * @throws IOException if the file cannot be created or mapped.
+     */
+    public SolutionFileWriter(Path file, long capacity) throws IOException {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive, got " + capacity);
+        }
+        this.capacity = capacity;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            header.putInt(MAGIC_OFFSET, MAGIC);
+            header.putInt(RECORD_BYTES_OFFSET, RECORD_BYTES);
+            header.putLong(CAPACITY_OFFSET, capacity);
+            channel.write(header, 0);
+            this.records = new MappedRegion(channel, FileChannel.MapMode.READ_WRITE, HEADER_BYTES,
+                    capacity * RECORD_BYTES, SEGMENT_BYTES);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Appends one result.
+     *
+     * @param puzzleId The id used to look the record up later; ids should be unique.
+     * @param solution The 9x9 board to store, or null to store an empty board (e.g. for a failed solve).
+     * @param status   The outcome of the solve.
+     * @param nanos    The time the solve took, in nanoseconds.
+     * @param nodes    The number of search nodes (or iterations) the solve took.
+     * @return The slot the record was written to.
+     * @throws IllegalStateException if the file is full, or the writer is closed or closing.
+     */
+    public long append(long puzzleId, int[][] solution, SearchStatus status, long nanos, long nodes) {
+        if (closed) {
+            throw new IllegalStateException("Solution file writer is closed.");
+        }
+        long slot = nextSlot.getAndIncrement();
+        if (slot < 0) {
+            throw new IllegalStateException("Solution file writer is closed.");
+        }
+        if (slot >= capacity) {
+            throw new IllegalStateException("Solution file is full (capacity " + capacity + ").");
+        }
+        long base = slot * RECORD_BYTES;
+        records.putLong(base + ID_OFFSET, puzzleId);
+        records.putLong(base + NANOS_OFFSET, nanos);
+        records.putLong(base + NODES_OFFSET, nodes);
+        for (int r = 0; r < 9; r++) {
+            for (int c = 0; c < 9; c++) {
+                records.put(base + SOLUTION_OFFSET + r * 9 + c, (byte) (solution == null ? 0 : solution[r][c]));
+            }
+        }
+        // written last: a non-zero status means the record is complete
+        records.put(base + STATUS_OFFSET, statusCode(status));
+        return slot;
+    }
+
+    /**
+     * @return The number of slots reserved so far.
+     */
+    public long size() {
+        long reserved = nextSlot.get();
+        return reserved < 0 ? sealedCount : Math.min(reserved, capacity);
+    }
+
+    /**
+     * Builds the puzzle id index, completes the header and flushes the file. Must be called after all
+     * writers have finished; slots that were reserved but never written are left out of the index.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        // no slot can be reserved from here on
+        long reserved = nextSlot.getAndSet(SEALED);
+        if (reserved < 0) return; // another close() got here first
+        try {
+            long count = Math.min(reserved, capacity);
+            sealedCount = count;
+            long indexSlots = indexSlotsFor(count);
+            MappedRegion index = new MappedRegion(channel, FileChannel.MapMode.READ_WRITE,
+                    HEADER_BYTES + capacity * RECORD_BYTES, indexSlots * INDEX_ENTRY_BYTES, SEGMENT_BYTES);
+            long mask = indexSlots - 1;
+            for (long slot = 0; slot < count; slot++) {
+                long base = slot * RECORD_BYTES;
+                if (records.get(base + STATUS_OFFSET) == 0) continue;
+                long puzzleId = records.getLong(base + ID_OFFSET);
+                // linear probing; a later record with the same id replaces the earlier one
+                long entry = indexHash(puzzleId, indexSlots);
+                while (index.getLong(entry * INDEX_ENTRY_BYTES + 8) != 0
+                        && index.getLong(entry * INDEX_ENTRY_BYTES) != puzzleId) {
+                    entry = (entry + 1) & mask;
+                }
+                index.putLong(entry * INDEX_ENTRY_BYTES, puzzleId);
+                index.putLong(entry * INDEX_ENTRY_BYTES + 8, slot + 1);
+            }
+            records.force();
+            index.force();
+
+            ByteBuffer header = ByteBuffer.allocate(Long.BYTES * 2);
+            header.putLong(0, count);
+            header.putLong(Long.BYTES, indexSlots);
+            channel.write(header, COUNT_OFFSET);
+            channel.force(true);
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * @return The code stored in the file for a status.
+     */
+    private static byte statusCode(SearchStatus status) {
+        switch (status) {
+            case SOLVED:
+                return STATUS_SOLVED;
+            case SUSPENDED:
+                return STATUS_SUSPENDED;
+            case UNSOLVABLE:
+                return STATUS_UNSOLVABLE;
+            default:
+                throw new IllegalArgumentException("No status code for " + status);
+        }
+    }
+
+    /**
+     * @return The number of index slots for the given number of records: a power of two, at least twice the count.
+     */
+    static long indexSlotsFor(long count) {
+        return Long.highestOneBit(Math.max(1, count)) << 2;
+    }
+
+    /**
+     * Maps a puzzle id to its home slot in an index of {@code indexSlots} (a power of two) slots.
+     * Ids are often consecutive numbers, so they are mixed first (Fibonacci hashing).
+     */
+    static long indexHash(long puzzleId, long indexSlots) {
+        return (puzzleId * 0x9E3779B97F4A7C15L) >>> (64 - Long.numberOfTrailingZeros(indexSlots));
+    }
+}
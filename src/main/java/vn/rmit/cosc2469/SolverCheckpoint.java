@@ -0,0 +1,168 @@
+package vn.rmit.cosc2469;
+
+import java.nio.ByteBuffer;
+
+/**
+ * SolverCheckpoint holds the complete state of a suspended {@link RMIT_Sudoku_Solver} search,
+ * so that it can be resumed later, possibly on another worker.
+ *
+ * <h2>Layout</h2>
+ * The search state is kept in preallocated flat arrays:
+ * <ul>
+ *     <li>{@code board}: the 81 cells in row-major order, 0 for empty.</li>
+ *     <li>{@code stackCell}: the cell index chosen at each decision level.</li>
+ *     <li>{@code stackOptions}: the candidate bitmask the cell had when it was chosen.</li>
+ *     <li>{@code stackRemaining}: the candidates (bitmask) not yet tried at that level.</li>
+ * </ul>
+ * Bit {@code d} of a mask stands for digit {@code d}, so masks fit in the range 0..0x3FE.
+ *
+ * <h2>Serialised Form</h2>
+ * {@link #toBytes()} writes a compact checkpoint of at most 91 + 5 * 81 bytes:
+ * node count, depth, a descend flag, the 81 board cells, then (cell, options, remaining) per level.
+ */
+public class SolverCheckpoint {
+    static final int CELLS = 81;
+    private static final int HEADER_BYTES = Long.BYTES + 2;
+    private static final int CANDIDATE_BITS = 0x3FE; // digits 1..9
+
+    final int[] board = new int[CELLS];
+    final int[] stackCell = new int[CELLS];
+    final int[] stackOptions = new int[CELLS];
+    final int[] stackRemaining = new int[CELLS];
+    int depth = 0;
+    boolean descend = true; // true when the next step is to choose a new cell
+    long nodes = 0;
+
+    SolverCheckpoint() {
+    }
+
+    /**
+     * Creates a checkpoint positioned at the root of the search for the given puzzle.
+     *
+     * @param puzzle A 9x9 grid with 0 representing empty cells.
+     * @return A fresh checkpoint; the input puzzle is not modified.
+     */
+    public static SolverCheckpoint of(int[][] puzzle) {
+        SolverCheckpoint checkpoint = new SolverCheckpoint();
+        checkpoint.load(puzzle);
+        return checkpoint;
+    }
+
+    /**
+     * Repositions this checkpoint at the root of the search for the given puzzle, so that one
+     * instance can be reused across puzzles.
+     */
+    void load(int[][] puzzle) {
+        for (int r = 0; r < 9; r++) {
+            for (int c = 0; c < 9; c++) {
+                board[r * 9 + c] = puzzle[r][c];
+            }
+        }
+        depth = 0;
+        descend = true;
+        nodes = 0;
+    }
+
+    /**
+     * Returns a 9x9 copy of the board as currently held by this checkpoint.
+     * Once a search reports {@link SearchStatus#SOLVED}, this is the solution.
+     */
+    public int[][] getBoard() {
+        int[][] copy = new int[9][9];
+        copyBoardTo(copy);
+        return copy;
+    }
+
+    /**
+     * Copies the board into an existing 9x9 grid.
+     */
+    void copyBoardTo(int[][] target) {
+        for (int r = 0; r < 9; r++) {
+            System.arraycopy(board, r * 9, target[r], 0, 9);
+        }
+    }
+
+    /**
+     * @return The number of search nodes expanded so far, across all resumptions.
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * @return The current number of decision levels on the search stack.
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Serialises this checkpoint into a compact byte array.
+     *
+     * @return The serialised checkpoint.
+     */
+    public byte[] toBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + CELLS + depth * 5);
+        buffer.putLong(nodes);
+        buffer.put((byte) depth);
+        buffer.put((byte) (descend ? 1 : 0));
+        for (int i = 0; i < CELLS; i++) {
+            buffer.put((byte) board[i]);
+        }
+        for (int i = 0; i < depth; i++) {
+            buffer.put((byte) stackCell[i]);
+            buffer.putShort((short) stackOptions[i]);
+            buffer.putShort((short) stackRemaining[i]);
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Restores a checkpoint previously produced by {@link #toBytes()}.
+     *
+     * @param bytes The serialised checkpoint.
+     * @return The restored checkpoint.
+     * @throws IllegalArgumentException if the bytes are not a valid checkpoint.
+     */
+    public static SolverCheckpoint fromBytes(byte[] bytes) {
+        if (bytes.length < HEADER_BYTES + CELLS) {
+            throw new IllegalArgumentException("Checkpoint is truncated.");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        SolverCheckpoint checkpoint = new SolverCheckpoint();
+        checkpoint.nodes = buffer.getLong();
+        checkpoint.depth = buffer.get();
+        checkpoint.descend = buffer.get() != 0;
+        if (checkpoint.depth < 0 || checkpoint.depth > CELLS
+                || bytes.length != HEADER_BYTES + CELLS + checkpoint.depth * 5) {
+            throw new IllegalArgumentException("Checkpoint has an invalid stack depth.");
+        }
+        for (int i = 0; i < CELLS; i++) {
+            int value = buffer.get();
+            if (value < 0 || value > 9) {
+                throw new IllegalArgumentException("Checkpoint has an invalid cell value: " + value);
+            }
+            checkpoint.board[i] = value;
+        }
+        for (int i = 0; i < checkpoint.depth; i++) {
+            int cell = buffer.get();
+            if (cell < 0 || cell >= CELLS) {
+                throw new IllegalArgumentException("Checkpoint has an invalid cell index: " + cell);
+            }
+            int options = buffer.getShort();
+            int remaining = buffer.getShort();
+            if ((options & ~CANDIDATE_BITS) != 0 || (remaining & ~options) != 0) {
+                throw new IllegalArgumentException("Checkpoint has invalid candidates at level " + i + ".");
+            }
+            // every decision below the top has a value placed; so does the top if the next step descends
+            boolean top = i == checkpoint.depth - 1;
+            if ((!top || checkpoint.descend) && checkpoint.board[cell] == 0) {
+                throw new IllegalArgumentException("Checkpoint has an empty cell at decision level " + i + ".");
+            }
+            checkpoint.stackCell[i] = cell;
+            checkpoint.stackOptions[i] = options;
+            checkpoint.stackRemaining[i] = remaining;
+        }
+        return checkpoint;
+    }
+}
@@ -7,6 +7,7 @@ import java.util.List;
 public class SolverLogger {
     private final List<String> steps = new ArrayList<>();
     private final String outputFilePath;
+    private int stepCounter = 0;
 
     public SolverLogger(String puzzleFilePath) {
         // "test-data/difficult1.csv" -> "difficult1_steps.csv"
@@ -18,6 +19,13 @@ public class SolverLogger {
         steps.add(message);
     }
 
+    /**
+     * @return The number of the next numbered step, starting at 1.
+     */
+    public int nextStep() {
+        return ++stepCounter;
+    }
+
     public void saveToCSV() {
         File file = new File(outputFilePath);
         try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
@@ -0,0 +1,151 @@
+package vn.rmit.cosc2469;
+
+/**
+ * Sudoku_SAT_Solver solves a Sudoku puzzle by encoding it as CNF and handing it to the built-in
+ * {@link CdclSatSolver}. Any n x n board whose box size is sqrt(n) is supported (9x9, 16x16, 25x25, ...),
+ * which is where clause learning pays off compared to plain backtracking.
+ * <p>
+ * The solver keeps no state between calls, so one instance can be shared by any number of threads.
+ * Unlike the other solvers it is not allocation-free: the CNF depends on the givens, so every call
+ * encodes the puzzle into a new {@link CdclSatSolver}.
+ *
+ * <h2>Encoding</h2>
+ * The direct encoding uses one variable per (row, column, value) triple, i.e. n^3 variables
+ * (729 for a 9x9 board):
+ * <ul>
+ *     <li>every cell holds at least one and at most one value;</li>
+ *     <li>every value occurs at least once and at most once in each row, column and box;</li>
+ *     <li>every given is a unit clause.</li>
+ * </ul>
+ *
+ * <h2>Time and Space Complexity</h2>
+ * <ul>
+ *     <li>Worst-case time complexity: exponential in the number of empty cells, as for any complete solver.</li>
+ *     <li>Space complexity: O(n^4) for the pairwise at-most-one clauses, plus the learnt clauses.</li>
+ * </ul>
+ */
+public class Sudoku_SAT_Solver {
+    private static final long TIME_LIMIT = 2 * 60 * 1000; // 2 minutes
+    private static final long CONFLICT_CHECK_INTERVAL = 2000; // conflicts between timeout checks
+
+    /**
+     * Entry point to solve a given Sudoku puzzle.
+     *
+     * @param puzzle An n x n grid (n a perfect square) with 0 representing empty cells.
+     * @return A solved n x n Sudoku board.
+     * @throws IllegalArgumentException if the board is not a square of a perfect-square size.
+     * @throws RuntimeException if the time limit is exceeded or no solution exists.
+     */
+    public int[][] solve(int[][] puzzle) {
+        return solve(puzzle, null);
+    }
+
+    /**
+     * Same as {@link #solve(int[][])}, also reporting the search statistics of the call.
+     *
+     * @param puzzle An n x n grid (n a perfect square) with 0 representing empty cells.
+     * @param stats  Receives the statistics of this call (also when it fails), or null if they are not needed.
+     * @return A solved n x n Sudoku board.
+     * @throws IllegalArgumentException if the board is not a square of a perfect-square size.
+     * @throws RuntimeException if the time limit is exceeded or no solution exists.
+     */
+    public int[][] solve(int[][] puzzle, SatSolveStats stats) {
+        long startTime = System.currentTimeMillis();
+        if (stats != null) stats.reset();
+        int n = puzzle.length;
+        int box = (int) Math.round(Math.sqrt(n));
+        if (n == 0 || box * box != n) {
+            throw new IllegalArgumentException("Board size must be a perfect square, got " + n);
+        }
+        for (int[] row : puzzle) {
+            if (row.length != n) throw new IllegalArgumentException("Board must be " + n + "x" + n);
+        }
+
+        CdclSatSolver sat = new CdclSatSolver(n * n * n);
+        encode(sat, puzzle, n, box);
+
+        while (true) {
+            SearchStatus status = sat.solve(CONFLICT_CHECK_INTERVAL);
+            if (stats != null) stats.update(sat);
+            if (status == SearchStatus.SOLVED) return decode(sat, n);
+            if (status == SearchStatus.UNSOLVABLE) {
+                throw new RuntimeException("No solution found within time limit.");
+            }
+            // Timeout check.
+            if (System.currentTimeMillis() - startTime > TIME_LIMIT) {
+                throw new RuntimeException("Time limit exceeded.");
+            }
+        }
+    }
+
+    private static void encode(CdclSatSolver sat, int[][] puzzle, int n, int box) {
+        int[] group = new int[n];
+
+        for (int r = 0; r < n; r++) {
+            for (int c = 0; c < n; c++) {
+                // Cell (r, c) holds exactly one value.
+                for (int d = 0; d < n; d++) group[d] = var(n, r, c, d);
+                exactlyOne(sat, group);
+
+                // Givens.
+                int given = puzzle[r][c];
+                if (given < 0 || given > n) {
+                    throw new IllegalArgumentException("Invalid value " + given + " at (" + (r + 1) + "," + (c + 1) + ")");
+                }
+                if (given != 0) sat.addClause(var(n, r, c, given - 1));
+            }
+        }
+
+        for (int d = 0; d < n; d++) {
+            for (int i = 0; i < n; i++) {
+                // Value d occurs exactly once in row i.
+                for (int j = 0; j < n; j++) group[j] = var(n, i, j, d);
+                exactlyOne(sat, group);
+
+                // Value d occurs exactly once in column i.
+                for (int j = 0; j < n; j++) group[j] = var(n, j, i, d);
+                exactlyOne(sat, group);
+
+                // Value d occurs exactly once in box i.
+                int boxRow = (i / box) * box;
+                int boxCol = (i % box) * box;
+                for (int j = 0; j < n; j++) group[j] = var(n, boxRow + j / box, boxCol + j % box, d);
+                exactlyOne(sat, group);
+            }
+        }
+    }
+
+    /**
+     * Adds an at-least-one clause and pairwise at-most-one clauses over the given variables.
+     */
+    private static void exactlyOne(CdclSatSolver sat, int[] vars) {
+        sat.addClause(vars);
+        for (int i = 0; i < vars.length; i++) {
+            for (int j = i + 1; j < vars.length; j++) {
+                sat.addClause(-vars[i], -vars[j]);
+            }
+        }
+    }
+
+    private static int[][] decode(CdclSatSolver sat, int n) {
+        int[][] board = new int[n][n];
+        for (int r = 0; r < n; r++) {
+            for (int c = 0; c < n; c++) {
+                for (int d = 0; d < n; d++) {
+                    if (sat.value(var(n, r, c, d))) {
+                        board[r][c] = d + 1;
+                        break;
+                    }
+                }
+            }
+        }
+        return board;
+    }
+
+    /**
+     * Maps (row, column, value index) to a variable number from 1 to n^3.
+     */
+    private static int var(int n, int row, int col, int d) {
+        return (row * n + col) * n + d + 1;
+    }
+}
@@ -1,137 +1,192 @@
 package vn.rmit.cosc2469;
 
-import java.util.*;
-
-import static vn.rmit.cosc2469.SudokuSolverHelper.isValidSudoku;
+import java.util.Random;
+import java.util.SplittableRandom;
 
 /**
  * Sudoku_Tabu_Search_Solver implements a local search heuristic, Tabu Search,
  * to solve standard 9x9 Sudoku puzzles. It initializes the grid with an
  * Alldifferent constraint within rows and iteratively reduces conflicts.
+ * <p>
+ * The solver only holds its settings. Boards, the tabu table and the visited set live in a
+ * per-thread {@link TabuContext} that is reused from one puzzle to the next, so one instance can be
+ * shared by any number of threads and the search itself does not allocate.
  *
  * <h2>Algorithm Type</h2>
  * Local Search (Tabu Search) with Alldifferent Initial Constraint.
  * <h2>Time and Space Complexity (Practical Considerations for n=9)</h2>
  * <ul>
- * <li>Worst-case time complexity: O(MAX_ITERATIONS * n^3), where n is the grid size (9), and MAX_ITERATIONS is the maximum allowed iterations.</li>
+ * <li>Worst-case time complexity: O(maxIterations * n^4), where n is the grid size (9), and maxIterations is the maximum allowed iterations.</li>
  * <li>Best-case: O(n^2), if no or few iterations are needed</li>
- * <li>Space complexity: O(n^2) to store the Sudoku grid and O(m) for the tabu list, where m is the maximum number of stored moves (tabu tenure).</li>
+ * <li>Space complexity: O(n^2) to store the Sudoku grid and O(n^3) for the tabu table, one deadline per possible swap.</li>
  * </ul>
  */
 public class Sudoku_Tabu_Search_Solver {
-    private static final int SIZE = 9;  // size of sudoku grid
+    private static final int SIZE = TabuContext.SIZE;  // size of sudoku grid
     private static final int BOX = 3;   // size of each 3x3 sub-box
-    private static final int MAX_ITERATIONS = 10000;    // the maximum number of iterations for the Tabu Search
+    private static final int DEFAULT_TABU_TENURE = 7;           // moves are forbidden for 7 iterations
+    private static final int DEFAULT_MAX_ITERATIONS = 10000;    // the maximum number of iterations for the Tabu Search
     private static final int TIME_LIMIT_MS = 120000;    // 2 minutes
-    private final Random random = new Random();         // random generator for initial filling
-    private int stepCount = 0;
-    private long startTime = -1;
-    private boolean timerStarted = false;
-
-    private void startTimer() {
-        if (!timerStarted) {
-            startTime = System.currentTimeMillis();
-            timerStarted = true;
-        } else {
-            timeElapsed();
-        }
-    }
+    private static final int TENURE_DECAY_INTERVAL = 100;       // iterations without cycling before the tenure shrinks
+    private static final int CYCLE_RESTART_THRESHOLD = 20;      // repeated boards without improvement before a partial restart
+    private static final int PERTURB_ROWS = 2;                  // rows reshuffled by a partial restart
+    private static final long[][] ZOBRIST = createZobristTable(); // random key per (cell, value)
+    private final int tabuTenure;       // number of iterations a move stays tabu
+    private final int maxIterations;    // iterations per attempt before giving up on it
+    private final int maxAttempts;      // attempts in solveUntilValid, 0 for unlimited (until timeout)
+    private final long seed;            // seed for the random initial filling
+    private final boolean seeded;       // false to keep drawing from the thread's generator
+    private volatile boolean verbose = true;
 
-    private long timeElapsed() {
-        return timerStarted ? System.currentTimeMillis() - startTime : 0;
+    /**
+     * Creates a solver with the default settings and an unseeded random generator.
+     */
+    public Sudoku_Tabu_Search_Solver() {
+        this(DEFAULT_TABU_TENURE, DEFAULT_MAX_ITERATIONS, 0, 0, false);
     }
 
-    private boolean isTimedOut() {
-        return timerStarted && timeElapsed() > TIME_LIMIT_MS;
+    /**
+     * Creates a solver with the given settings. Runs with the same settings and seed are reproducible:
+     * every top-level call starts a random generator from the seed again. Solvers created without a seed
+     * draw from a per-thread generator that seeded calls never touch.
+     *
+     * @param tabuTenure    The number of iterations a performed move stays tabu.
+     * @param maxIterations The maximum number of iterations of a single attempt.
+     * @param maxAttempts   The maximum number of attempts (restarts) in {@link #solveUntilValid(int[][])}, 0 for unlimited.
+     * @param seed          The seed for the random initial filling.
+     */
+    public Sudoku_Tabu_Search_Solver(int tabuTenure, int maxIterations, int maxAttempts, long seed) {
+        this(tabuTenure, maxIterations, maxAttempts, seed, true);
     }
 
-    private void checkTimeout() {
-        if (isTimedOut()) {
-            throw new RuntimeException("❗Timeout: Could not solve puzzle within time limit.");
+    private Sudoku_Tabu_Search_Solver(int tabuTenure, int maxIterations, int maxAttempts, long seed, boolean seeded) {
+        if (tabuTenure < 1 || maxIterations < 1 || maxAttempts < 0) {
+            throw new IllegalArgumentException("Invalid Tabu Search settings: tenure=" + tabuTenure
+                    + ", iterations=" + maxIterations + ", attempts=" + maxAttempts);
         }
+        this.tabuTenure = tabuTenure;
+        this.maxIterations = maxIterations;
+        this.maxAttempts = maxAttempts;
+        this.seed = seed;
+        this.seeded = seeded;
+    }
+
+    /**
+     * Enables or disables progress messages on the console (enabled by default).
+     *
+     * @param verbose true to print progress messages
+     */
+    public void setVerbose(boolean verbose) {
+        this.verbose = verbose;
     }
 
-    // Restarts the timer from 0 and sets timerStarted to true
-    public void resetTimer() {
-        startTime = System.currentTimeMillis();
-        timerStarted = true;
-        System.out.println("🔄 Timer reset");
+    private static void checkTimeout(long deadline) {
+        if (System.currentTimeMillis() > deadline) {
+            throw new RuntimeException("❗Timeout: Could not solve puzzle within time limit.");
+        }
     }
 
     /**
      * Attempts to solve the given Sudoku puzzle using a Tabu Search algorithm.
+     * <p>
+     * Cycles are detected with an incrementally updated Zobrist hash of the board, recorded in a set of
+     * recently visited boards. Revisiting a board raises the tabu tenure (reactive tabu search); the tenure
+     * decays back towards its base value while no cycling is seen. If boards keep repeating without
+     * improving the best cost, a few rows are reshuffled (partial restart) instead of starting over.
      *
      * @param puzzle The initial Sudoku puzzle to solve.
      * @return A completed 9x9 Sudoku grid if solvable within limits; otherwise, the best attempt.
      */
     public int[][] solve(int[][] puzzle) {
-        startTimer();
+        return solve(puzzle, null);
+    }
 
+    /**
+     * Same as {@link #solve(int[][])}, also reporting the statistics of the run.
+     *
+     * @param puzzle The initial Sudoku puzzle to solve.
+     * @param stats  Receives the statistics of this call, or null if they are not needed.
+     * @return A completed 9x9 Sudoku grid if solvable within limits; otherwise, the best attempt.
+     */
+    public int[][] solve(int[][] puzzle, TabuSearchStats stats) {
+        TabuContext context = TabuContext.get();
+        TabuSearchStats sink = context.stats(stats);
+        sink.attempts = 1;
+        search(context, context.random(seeded, seed), puzzle, System.currentTimeMillis() + TIME_LIMIT_MS, sink);
+        return deepCopy(context.best);
+    }
+
+    /**
+     * Runs one attempt of the search in the given context and leaves the best board found in {@code context.best}.
+     *
+     * @param random   The generator of the current call.
+     * @param deadline The time (as given by {@link System#currentTimeMillis()}) after which the search times out.
+     * @param stats    Accumulates the repeated boards and partial restarts of the call.
+     * @return The cost of the best board, 0 if it is a solution.
+     */
+    private int search(TabuContext context, Random random, int[][] puzzle, long deadline, TabuSearchStats stats) {
         // Fixed cells
-        boolean[][] fixed = new boolean[SIZE][SIZE];
-        int[][] current = new int[SIZE][SIZE];
+        boolean[][] fixed = context.fixed;
+        int[][] current = context.current;
+        int[][] best = context.best;
+        int[] available = context.available;
 
         // Step 1: Preprocess with AllDifferent (initialize rows with all 1–9 without repetition)
         for (int row = 0; row < SIZE; row++) {
-            List<Integer> available = new ArrayList<>();
-
-            // create a list of numbers 1 to SIZE for the current row
-            for (int i = 1; i <= SIZE; i++) available.add(i);
+            // digits of the row that are not given, in increasing order
+            int used = 0;
+            for (int col = 0; col < SIZE; col++) {
+                used |= 1 << puzzle[row][col];
+            }
+            int left = 0;
+            for (int value = 1; value <= SIZE; value++) {
+                if ((used & (1 << value)) == 0) available[left++] = value;
+            }
 
-            // copy values from the puzzle to the current solution
-            // then mark fixed positions while removing them from available numbers
+            // copy values from the puzzle to the current solution and mark fixed positions
             for (int col = 0; col < SIZE; col++) {
                 current[row][col] = puzzle[row][col];
-                if (puzzle[row][col] != 0) {
-                    fixed[row][col] = true;     // mark as fixed
-                    available.remove((Integer) puzzle[row][col]);       // remove fixed number
-                }
+                fixed[row][col] = puzzle[row][col] != 0;
             }
 
             // Fill the remaining cells randomly with available values
             for (int col = 0; col < SIZE; col++) {
                 if (!fixed[row][col]) {
-                    current[row][col] = available.remove(random.nextInt(available.size()));
+                    int pick = random.nextInt(left);
+                    current[row][col] = available[pick];
+                    System.arraycopy(available, pick + 1, available, pick, --left - pick);
                 }
             }
         }
 
-
-        int[][] best = deepCopy(current);               // store best solution found so far
+        copyBoard(current, best);                       // store best solution found so far
         int bestCost = calculateConflicts(best);        // cost (number of conflicts) of current board
 
-        // Tabu list with tenure
-        Map<String, Integer> tabuList = new HashMap<>();    // map to store recently performed moves and their remaining tenure
-        int tabuTenure = 7; // move will be forbidden for 7 iterations
+        // Tabu table with tenure: forget the moves of the previous call
+        context.expireAll();
+        int tenure = tabuTenure;                            // current (reactive) tenure
+        int maxTenure = Math.max(tabuTenure, countFreePairs(fixed) / 2); // beyond this, most moves would be tabu
 
-        // step 2: tabu search to improve solution
-        for (int iter = 0; iter < MAX_ITERATIONS; iter++) {
-            if (timeElapsed() > TIME_LIMIT_MS) {
-                checkTimeout();
-            }
+        // Cycle detection
+        long hash = hashBoard(current);
+        LongHashSet visited = context.visited;
+        visited.clear();
+        visited.add(hash);
+        int repeatsSinceProgress = 0;
+        int lastRepeatIter = 0;
 
+        // step 2: tabu search to improve solution
+        for (int iter = 0; iter < maxIterations; iter++) {
+            checkTimeout(deadline);
 
             if (bestCost == 0) break;   // puzzle is solved if no conflicts remain
 
-            // Decrease remaining tenure for each tabu move
-            List<String> expiredMoves = new ArrayList<>();
-            for (Map.Entry<String, Integer> entry : tabuList.entrySet()) {
-                int remaining = entry.getValue() - 1;   // decrease the remaining tenure
-                if (remaining <= 0) {
-                    expiredMoves.add(entry.getKey());       // collect expired moves to remove later
-                } else {
-                    tabuList.put(entry.getKey(), remaining);    // update remaining tenure
-                }
-            }
-            // remove expired tabu moves from the tabu list
-            for (String move : expiredMoves) {
-                tabuList.remove(move);
-            }
+            // One tick of the tabu clock: moves made tenure ticks ago are no longer tabu
+            context.clock++;
 
-            // track best solution in this iteration
-            int[][] bestCandidate = null;
+            // track best move in this iteration
             int bestCandidateCost = Integer.MAX_VALUE;
-            String bestMove = "";
+            int bestRow = -1, bestCol1 = -1, bestCol2 = -1;
 
             // explore neighbors by swapping non-fixed values in the same row
             for (int row = 0; row < SIZE; row++) {
@@ -139,23 +194,21 @@ public class Sudoku_Tabu_Search_Solver {
                     for (int col2 = col1 + 1; col2 < SIZE; col2++) {
                         if (fixed[row][col1] || fixed[row][col2]) continue; // skip fixed
 
-                        // create a candidate solution by swapping two values in the row
-                        int[][] candidate = deepCopy(current);
-                        swap(candidate[row], col1, col2);
+                        // evaluate the swap in place, then undo it
+                        swap(current[row], col1, col2);
+                        int cost = calculateConflicts(current); // evaluate number of conflicts
+                        swap(current[row], col1, col2);
 
-                        // generate a move identifier (for use in tabu list)
-                        String move = row + "-" + col1 + "<->" + col2;
-                        int cost = calculateConflicts(candidate); // evaluate number of conflicts
-
-                        boolean isTabu = tabuList.containsKey(move); // check if move is tabu
+                        boolean isTabu = context.isTabu(row, col1, col2); // check if move is tabu
                         boolean isAspiration = cost < bestCost; // allow tabu if its better than the best so far
 
                         // if move is not tabu
                         if (!isTabu || isAspiration) {
                             if (cost < bestCandidateCost) {
-                                bestCandidate = candidate;
                                 bestCandidateCost = cost;
-                                bestMove = move;
+                                bestRow = row;
+                                bestCol1 = col1;
+                                bestCol2 = col2;
                             }
                         }
                     }
@@ -163,20 +216,128 @@ public class Sudoku_Tabu_Search_Solver {
             }
 
             // apply best move found in this iteration
-            if (bestCandidate != null) {
-                current = bestCandidate;
-                stepCount++; // Count the accepted move
+            if (bestRow >= 0) {
+                swap(current[bestRow], bestCol1, bestCol2);
                 // update best
+                if (bestCandidateCost < bestCost) repeatsSinceProgress = 0;
                 if (bestCandidateCost <= bestCost) {
-                    best = deepCopy(bestCandidate);
+                    copyBoard(current, best);
                     bestCost = bestCandidateCost;
                 }
 
-                // Add the selected move to the tabu list with its tenure
-                tabuList.put(bestMove, tabuTenure);
+                // the swap changed two cells: update the hash incrementally
+                int[] swapped = current[bestRow];
+                hash ^= ZOBRIST[bestRow * SIZE + bestCol1][swapped[bestCol2]] ^ ZOBRIST[bestRow * SIZE + bestCol1][swapped[bestCol1]]
+                        ^ ZOBRIST[bestRow * SIZE + bestCol2][swapped[bestCol1]] ^ ZOBRIST[bestRow * SIZE + bestCol2][swapped[bestCol2]];
+
+                if (visited.size() >= visited.capacity() / 2) visited.clear(); // only recent boards are remembered
+                if (!visited.add(hash)) {
+                    // cycling: make moves tabu for longer
+                    stats.repeatedStates++;
+                    repeatsSinceProgress++;
+                    lastRepeatIter = iter;
+                    tenure = raiseTenure(tenure, maxTenure);
+                } else if (tenure > tabuTenure && iter - lastRepeatIter >= TENURE_DECAY_INTERVAL) {
+                    // no cycling for a while: let the tenure shrink back
+                    lastRepeatIter = iter;
+                    tenure = decayTenure(tenure, tabuTenure);
+                }
+
+                // Make the selected move tabu for the current tenure
+                context.makeTabu(bestRow, bestCol1, bestCol2, tenure);
+
+                if (repeatsSinceProgress >= CYCLE_RESTART_THRESHOLD) {
+                    // still cycling despite the longer tenure: escape by reshuffling a few rows
+                    perturb(current, fixed, random);
+                    stats.partialRestarts++;
+                    hash = hashBoard(current);
+                    visited.clear();
+                    visited.add(hash);
+                    context.expireAll();
+                    tenure = tabuTenure;
+                    repeatsSinceProgress = 0;
+                }
+            }
+        }
+        return bestCost;
+    }
+
+    /**
+     * Reshuffles the non-fixed values of a few randomly chosen rows, keeping each row a permutation of 1–9.
+     *
+     * @param board The board to perturb in place.
+     * @param fixed The fixed (given) cells, which are left untouched.
+     * @param random The generator of the current call.
+     */
+    static void perturb(int[][] board, boolean[][] fixed, Random random) {
+        for (int n = 0; n < PERTURB_ROWS; n++) {
+            int row = random.nextInt(SIZE);
+            // Fisher–Yates shuffle over the free cells of the row
+            for (int i = SIZE - 1; i > 0; i--) {
+                if (fixed[row][i]) continue;
+                int j = random.nextInt(i + 1);
+                if (!fixed[row][j]) swap(board[row], i, j);
+            }
+        }
+    }
+
+    /**
+     * Raises the tenure by a fifth (at least 1) after a repeated board, up to {@code maxTenure}.
+     */
+    static int raiseTenure(int tenure, int maxTenure) {
+        return Math.min(maxTenure, tenure + Math.max(1, tenure / 5));
+    }
+
+    /**
+     * Lowers the tenure by a tenth (at least 1) after a while without cycling, down to {@code baseTenure}.
+     */
+    static int decayTenure(int tenure, int baseTenure) {
+        return Math.max(baseTenure, tenure - Math.max(1, tenure / 10));
+    }
+
+    /**
+     * Counts the swappable pairs of non-fixed cells, i.e. the size of the neighbourhood.
+     */
+    private static int countFreePairs(boolean[][] fixed) {
+        int pairs = 0;
+        for (int row = 0; row < SIZE; row++) {
+            int free = 0;
+            for (int col = 0; col < SIZE; col++) {
+                if (!fixed[row][col]) free++;
+            }
+            pairs += free * (free - 1) / 2;
+        }
+        return pairs;
+    }
+
+    /**
+     * Computes the Zobrist hash of a board from scratch.
+     *
+     * @param board The Sudoku board to hash.
+     * @return The XOR of the keys of every (cell, value) pair on the board.
+     */
+    private static long hashBoard(int[][] board) {
+        long hash = 0;
+        for (int row = 0; row < SIZE; row++) {
+            for (int col = 0; col < SIZE; col++) {
+                hash ^= ZOBRIST[row * SIZE + col][board[row][col]];
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Creates the Zobrist keys. A fixed seed is used so that hashes do not depend on the solver's seed.
+     */
+    private static long[][] createZobristTable() {
+        SplittableRandom keys = new SplittableRandom(0x5EED_2469L);
+        long[][] table = new long[SIZE * SIZE][SIZE + 1];
+        for (long[] cell : table) {
+            for (int value = 0; value <= SIZE; value++) {
+                cell[value] = keys.nextLong();
             }
         }
-        return best;
+        return table;
     }
 
     /**
@@ -185,7 +346,7 @@ public class Sudoku_Tabu_Search_Solver {
      * @param board The 2D integer array to copy.
      * @return A new 2D integer array with the same contents as the input.
      */
-    private int[][] deepCopy(int[][] board) {
+    private static int[][] deepCopy(int[][] board) {
         int[][] copy = new int[board.length][board[0].length];
         for (int i = 0; i < board.length; i++) {
             System.arraycopy(board[i], 0, copy[i], 0, board[0].length);
@@ -193,6 +354,15 @@ public class Sudoku_Tabu_Search_Solver {
         return copy;
     }
 
+    /**
+     * Copies a 9x9 board into another one without allocating.
+     */
+    private static void copyBoard(int[][] from, int[][] to) {
+        for (int i = 0; i < SIZE; i++) {
+            System.arraycopy(from[i], 0, to[i], 0, SIZE);
+        }
+    }
+
     /**
      * Swaps two elements in a row of the Sudoku board.
      *
@@ -200,7 +370,7 @@ public class Sudoku_Tabu_Search_Solver {
      * @param i   The index of the first element to swap.
      * @param j   The index of the second element to swap.
      */
-    private void swap(int[] row, int i, int j) {
+    private static void swap(int[] row, int i, int j) {
         int temp = row[i];
         row[i] = row[j];
         row[j] = temp;
@@ -215,41 +385,31 @@ public class Sudoku_Tabu_Search_Solver {
      * @param board The Sudoku board to evaluate for conflicts.
      * @return The total number of conflicts found in the board.
      */
-    private int calculateConflicts(int[][] board) {
+    private static int calculateConflicts(int[][] board) {
         int conflicts = 0;
 
-        // Check for duplicate values in rows
-        for (int row = 0; row < SIZE; row++) {
-            Set<Integer> seen = new HashSet<>();
-            for (int col = 0; col < SIZE; col++) {
-                int val = board[row][col];
-                if (val != 0 && !seen.add(val)) {
-                    conflicts++;
-                }
-            }
-        }
-
-        // Check for duplicate values in columns
-        for (int col = 0; col < SIZE; col++) {
-            Set<Integer> seen = new HashSet<>();
-            for (int row = 0; row < SIZE; row++) {
-                int val = board[row][col];
-                if (val != 0 && !seen.add(val)) {
-                    conflicts++;
-                }
+        // Check for duplicate values in rows and columns, with one bitmask of seen values per line
+        for (int i = 0; i < SIZE; i++) {
+            int seenRow = 0, seenCol = 0;
+            for (int j = 0; j < SIZE; j++) {
+                int rowBit = (1 << board[i][j]) & ~1;   // bit 0 (empty cell) never counts
+                int colBit = (1 << board[j][i]) & ~1;
+                if ((seenRow & rowBit) != 0) conflicts++;
+                if ((seenCol & colBit) != 0) conflicts++;
+                seenRow |= rowBit;
+                seenCol |= colBit;
             }
         }
 
         // Check for duplicate values in 3x3 sub-boxes
         for (int boxRow = 0; boxRow < SIZE; boxRow += BOX) {
             for (int boxCol = 0; boxCol < SIZE; boxCol += BOX) {
-                Set<Integer> seen = new HashSet<>();
+                int seen = 0;
                 for (int i = 0; i < BOX; i++) {
                     for (int j = 0; j < BOX; j++) {
-                        int val = board[boxRow + i][boxCol + j];
-                        if (val != 0 && !seen.add(val)) {
-                            conflicts++;
-                        }
+                        int bit = (1 << board[boxRow + i][boxCol + j]) & ~1;
+                        if ((seen & bit) != 0) conflicts++;
+                        seen |= bit;
                     }
                 }
             }
@@ -262,29 +422,49 @@ public class Sudoku_Tabu_Search_Solver {
      *
      * @param puzzle The initial Sudoku puzzle to solve.
      * @return A valid completed 9x9 Sudoku grid.
+     * @throws RuntimeException if the time limit or the attempt limit is reached first.
      */
     public int[][] solveUntilValid(int[][] puzzle) {
-        startTimer();
+        int[][] solution = new int[SIZE][SIZE];
+        solveUntilValid(puzzle, solution, null);
+        return solution;
+    }
 
-        int attempt = 0;
+    /**
+     * Repeatedly runs the search until a valid Sudoku solution is found, writing it into a
+     * caller-provided board. Apart from progress messages, this does not allocate.
+     *
+     * @param puzzle   The initial Sudoku puzzle to solve.
+     * @param solution A 9x9 grid that receives the solution.
+     * @param stats    Receives the statistics of this call (also when it fails), or null if they are not needed.
+     * @throws RuntimeException if the time limit or the attempt limit is reached first.
+     */
+    public void solveUntilValid(int[][] puzzle, int[][] solution, TabuSearchStats stats) {
+        long start = System.currentTimeMillis();
+        long deadline = start + TIME_LIMIT_MS;
+        TabuContext context = TabuContext.get();
+        Random random = context.random(seeded, seed);
+        TabuSearchStats sink = context.stats(stats);
 
         while (true) {
-            attempt++;
-            int[][] result = solve(puzzle);
-
-            if (isValidSudoku(result)) {
-                System.out.println("✅ Found a valid solution on attempt " + attempt +
-                        " in " + timeElapsed() + " ms");
-                resetTimer();
-                return result;
+            sink.attempts++;
+            // every cell is filled with 1–9, so a board without conflicts is a valid solution
+            if (search(context, random, puzzle, deadline, sink) == 0) {
+                if (verbose) {
+                    System.out.println("✅ Found a valid solution on attempt " + sink.attempts +
+                            " in " + (System.currentTimeMillis() - start) + " ms");
+                }
+                copyBoard(context.best, solution);
+                return;
             }
 
-            if (isTimedOut()) {
-                checkTimeout();
-                return null; // Will never reach here due to the exception, but for compilation
+            checkTimeout(deadline);
+
+            if (maxAttempts > 0 && sink.attempts >= maxAttempts) {
+                throw new RuntimeException("❗Could not solve puzzle within " + maxAttempts + " attempts.");
             }
 
-            System.out.println("❌ Attempt " + attempt + " failed. Retrying...");
+            if (verbose) System.out.println("❌ Attempt " + sink.attempts + " failed. Retrying...");
         }
     }
 
@@ -0,0 +1,87 @@
+package vn.rmit.cosc2469;
+
+import java.util.Random;
+
+/**
+ * TabuContext holds the mutable scratch state of a {@link Sudoku_Tabu_Search_Solver} run:
+ * board buffers, the tabu table, the set of recently visited boards and the random generators.
+ * <p>
+ * One context is created per thread on first use and reused for every later puzzle solved on that
+ * thread. Nothing in it needs to be wiped between puzzles: the boards are overwritten by the initial
+ * filling, the visited set is cleared by starting a new generation, and tabu entries are expired by
+ * moving the clock past every recorded deadline (see {@link #expireAll()}).
+ */
+final class TabuContext {
+    static final int SIZE = 9;
+    private static final int VISITED_CAPACITY = 1 << 14;
+    private static final ThreadLocal<TabuContext> CONTEXT = ThreadLocal.withInitial(TabuContext::new);
+
+    final boolean[][] fixed = new boolean[SIZE][SIZE];
+    final int[][] current = new int[SIZE][SIZE];
+    final int[][] best = new int[SIZE][SIZE];
+    final int[] available = new int[SIZE];      // digits left for the free cells of a row
+
+    // Tabu table: the clock tick until which each swap (row, col1, col2) is forbidden.
+    final long[] tabuUntil = new long[SIZE * SIZE * SIZE];
+    long clock = 0;
+    long horizon = 0;                           // latest deadline ever written to tabuUntil
+
+    final LongHashSet visited = new LongHashSet(VISITED_CAPACITY);
+    final Random random = new Random();         // for unseeded solvers: never reseeded
+    final Random seededRandom = new Random();   // for seeded solvers: reseeded on every call
+
+    // Statistics sink for calls that do not ask for statistics.
+    final TabuSearchStats discardedStats = new TabuSearchStats();
+
+    private TabuContext() {
+    }
+
+    /**
+     * @return The calling thread's context.
+     */
+    static TabuContext get() {
+        return CONTEXT.get();
+    }
+
+    /**
+     * Returns the generator for a call: the thread's own unseeded generator, or a generator restarted
+     * from the seed, so that seeded calls never disturb (or depend on) the unseeded stream.
+     */
+    Random random(boolean seeded, long seed) {
+        if (!seeded) return random;
+        seededRandom.setSeed(seed);
+        return seededRandom;
+    }
+
+    /**
+     * Returns the caller's statistics object, reset, or a scratch object if the caller passed none.
+     */
+    TabuSearchStats stats(TabuSearchStats requested) {
+        TabuSearchStats stats = requested != null ? requested : discardedStats;
+        stats.reset();
+        return stats;
+    }
+
+    /**
+     * @return true if the swap of columns col1 and col2 in the row is currently tabu.
+     */
+    boolean isTabu(int row, int col1, int col2) {
+        return clock < tabuUntil[(row * SIZE + col1) * SIZE + col2];
+    }
+
+    /**
+     * Makes the swap of columns col1 and col2 in the row tabu for the given number of ticks.
+     */
+    void makeTabu(int row, int col1, int col2, int tenure) {
+        long until = clock + tenure;
+        tabuUntil[(row * SIZE + col1) * SIZE + col2] = until;
+        if (until > horizon) horizon = until;
+    }
+
+    /**
+     * Lifts every tabu in O(1) by moving the clock to the latest deadline.
+     */
+    void expireAll() {
+        clock = horizon;
+    }
+}
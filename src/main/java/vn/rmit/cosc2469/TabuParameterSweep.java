@@ -0,0 +1,188 @@
+package vn.rmit.cosc2469;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * TabuParameterSweep runs {@link Sudoku_Tabu_Search_Solver} over a corpus of puzzles for every
+ * combination of tabu tenure, iteration budget and restart limit, in parallel, and reports the
+ * success rate and time-to-solution distribution per configuration.
+ * <p>
+ * Every run uses its own solver seeded from the run index, so a sweep is reproducible and a single
+ * interesting run can be replayed with the same seed.
+ *
+ * <h2>Usage</h2>
+ * Run the {@code main} method with the puzzle CSV files of the corpus as arguments, e.g.
+ * {@code test-data/easiest1.csv test-data/intermediate.csv}.
+ * With no arguments, the two easiest puzzles are used as the corpus.
+ */
+public class TabuParameterSweep {
+    private static final int[] TENURES = {5, 7, 10, 15};
+    private static final int[] ITERATION_BUDGETS = {2000, 5000, 10000};
+    private static final int[] ATTEMPT_LIMITS = {1, 5, 20};
+    private static final int RUNS_PER_PUZZLE = 5;
+
+    private final int[] tenures;
+    private final int[] iterationBudgets;
+    private final int[] attemptLimits;
+    private final int runsPerPuzzle;
+
+    public TabuParameterSweep(int[] tenures, int[] iterationBudgets, int[] attemptLimits, int runsPerPuzzle) {
+        this.tenures = tenures.clone();
+        this.iterationBudgets = iterationBudgets.clone();
+        this.attemptLimits = attemptLimits.clone();
+        this.runsPerPuzzle = runsPerPuzzle;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        String[] files = args.length > 0 ? args : new String[]{"test-data/easiest1.csv", "test-data/easiest2.csv"};
+        List<int[][]> corpus = new ArrayList<>();
+        for (String file : files) {
+            corpus.add(SudokuSolverHelper.loadSudokuFromCSV(file));
+        }
+
+        int threads = Runtime.getRuntime().availableProcessors();
+        System.out.println("Sweeping " + corpus.size() + " puzzle(s) x " + RUNS_PER_PUZZLE + " run(s) on " + threads + " thread(s)...");
+
+        TabuParameterSweep sweep = new TabuParameterSweep(TENURES, ITERATION_BUDGETS, ATTEMPT_LIMITS, RUNS_PER_PUZZLE);
+        List<ConfigResult> results = sweep.run(corpus, threads);
+
+        System.out.println(String.format("%6s %10s %8s | %5s %8s %10s %10s %10s %9s",
+                "tenure", "iterations", "attempts", "runs", "success", "p50 ms", "p90 ms", "max ms", "avg tries"));
+        for (ConfigResult result : results) {
+            System.out.println(result);
+        }
+    }
+
+    /**
+     * Runs the sweep over the corpus using a fixed pool of worker threads.
+     *
+     * @param corpus  The puzzles to solve with each configuration.
+     * @param threads The number of worker threads.
+     * @return One result per configuration, in sweep order.
+     */
+    public List<ConfigResult> run(List<int[][]> corpus, int threads) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<ConfigResult> results = new ArrayList<>();
+            List<List<Future<RunResult>>> pending = new ArrayList<>();
+
+            for (int tenure : tenures) {
+                for (int iterations : iterationBudgets) {
+                    for (int attempts : attemptLimits) {
+                        results.add(new ConfigResult(tenure, iterations, attempts));
+                        List<Future<RunResult>> runs = new ArrayList<>();
+                        for (int[][] puzzle : corpus) {
+                            for (int run = 0; run < runsPerPuzzle; run++) {
+                                long seed = run;
+                                runs.add(executor.submit(() -> runOnce(puzzle, tenure, iterations, attempts, seed)));
+                            }
+                        }
+                        pending.add(runs);
+                    }
+                }
+            }
+
+            for (int i = 0; i < results.size(); i++) {
+                for (Future<RunResult> future : pending.get(i)) {
+                    try {
+                        results.get(i).add(future.get());
+                    } catch (ExecutionException e) {
+                        throw new RuntimeException("Sweep run failed unexpectedly.", e.getCause());
+                    }
+                }
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Solves one puzzle with one configuration and seed; a timeout or exhausted attempt limit counts as a failure.
+     */
+    private static RunResult runOnce(int[][] puzzle, int tenure, int iterations, int attempts, long seed) {
+        Sudoku_Tabu_Search_Solver solver = new Sudoku_Tabu_Search_Solver(tenure, iterations, attempts, seed);
+        solver.setVerbose(false);
+        TabuSearchStats stats = new TabuSearchStats();
+        int[][] result = new int[9][9];
+
+        long start = System.nanoTime();
+        try {
+            solver.solveUntilValid(puzzle, result, stats);
+            long elapsed = System.nanoTime() - start;
+            return new RunResult(SudokuSolverHelper.isValidSudoku(result), elapsed, stats.getAttempts());
+        } catch (RuntimeException e) {
+            return new RunResult(false, System.nanoTime() - start, stats.getAttempts());
+        }
+    }
+
+    /**
+     * Outcome of a single solver run.
+     */
+    private static class RunResult {
+        final boolean solved;
+        final long nanos;
+        final int attempts;
+
+        RunResult(boolean solved, long nanos, int attempts) {
+            this.solved = solved;
+            this.nanos = nanos;
+            this.attempts = attempts;
+        }
+    }
+
+    /**
+     * Aggregated outcome of all runs of one configuration.
+     */
+    public static class ConfigResult {
+        public final int tenure;
+        public final int iterations;
+        public final int attempts;
+        private final List<Long> solveNanos = new ArrayList<>();
+        private int runs = 0;
+        private long totalAttempts = 0;
+
+        ConfigResult(int tenure, int iterations, int attempts) {
+            this.tenure = tenure;
+            this.iterations = iterations;
+            this.attempts = attempts;
+        }
+
+        void add(RunResult result) {
+            runs++;
+            totalAttempts += result.attempts;
+            if (result.solved) solveNanos.add(result.nanos);
+        }
+
+        public int getRuns() {
+            return runs;
+        }
+
+        public double getSuccessRate() {
+            return runs == 0 ? 0 : (double) solveNanos.size() / runs;
+        }
+
+        /**
+         * Returns the given percentile of time-to-solution over successful runs, in milliseconds,
+         * or NaN if no run succeeded.
+         *
+         * @param percentile A value between 0 and 100.
+         */
+        public double getTimeToSolutionMs(double percentile) {
+            if (solveNanos.isEmpty()) return Double.NaN;
+            List<Long> sorted = new ArrayList<>(solveNanos);
+            Collections.sort(sorted);
+            int index = (int) Math.ceil(percentile / 100.0 * sorted.size()) - 1;
+            return sorted.get(Math.max(0, Math.min(index, sorted.size() - 1))) / 1_000_000.0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%6d %10d %8d | %5d %7.1f%% %10.1f %10.1f %10.1f %9.2f",
+                    tenure, iterations, attempts, runs, getSuccessRate() * 100,
+                    getTimeToSolutionMs(50), getTimeToSolutionMs(90), getTimeToSolutionMs(100),
+                    runs == 0 ? 0 : (double) totalAttempts / runs);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package vn.rmit.cosc2469;
+
+/**
+ * TabuSearchStats receives the statistics of one call to {@link Sudoku_Tabu_Search_Solver}.
+ * <p>
+ * The solver resets the object at the start of every call it is passed to, so one instance can be
+ * reused for many calls. It belongs to the caller and must not be shared by calls running concurrently.
+ */
+public class TabuSearchStats {
+    int attempts = 0;
+    int repeatedStates = 0;
+    int partialRestarts = 0;
+
+    void reset() {
+        attempts = 0;
+        repeatedStates = 0;
+        partialRestarts = 0;
+    }
+
+    /**
+     * @return The number of attempts (restarts from a fresh random filling) made by the call.
+     */
+    public int getAttempts() {
+        return attempts;
+    }
+
+    /**
+     * @return The number of times the search returned to a recently visited board, over all attempts.
+     */
+    public int getRepeatedStates() {
+        return repeatedStates;
+    }
+
+    /**
+     * @return The number of partial restarts triggered by cycling, over all attempts.
+     */
+    public int getPartialRestarts() {
+        return partialRestarts;
+    }
+}
@@ -0,0 +1,68 @@
+package vn.rmit.cosc2469;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CdclSatSolverTest {
+    private static final int VARS = 200;
+    private static final int CLAUSES = 852; // clause/variable ratio near 4.26, where random 3-SAT is hardest
+
+    @Test
+    void suspendingDoesNotChangeTheSearch() {
+        CdclSatSolver single = randomThreeSat(2469);
+        SearchStatus expected = single.solve(Long.MAX_VALUE);
+        assertTrue(single.getRestarts() > 3, "the formula should need several restarts");
+
+        // A budget that does not divide the Luby windows, so suspensions fall inside them.
+        CdclSatSolver chunked = randomThreeSat(2469);
+        SearchStatus status;
+        int calls = 0;
+        do {
+            status = chunked.solve(37);
+            calls++;
+        } while (status == SearchStatus.SUSPENDED);
+
+        assertTrue(calls > 1);
+        assertEquals(expected, status);
+        assertEquals(single.getRestarts(), chunked.getRestarts());
+        assertEquals(single.getConflicts(), chunked.getConflicts());
+        assertEquals(single.getDecisions(), chunked.getDecisions());
+    }
+
+    @Test
+    void solvesPigeonholeAsUnsatisfiable() {
+        // 6 pigeons in 5 holes: every pigeon needs a hole, no hole takes two pigeons.
+        int pigeons = 6, holes = 5;
+        CdclSatSolver sat = new CdclSatSolver(pigeons * holes);
+        for (int p = 0; p < pigeons; p++) {
+            int[] clause = new int[holes];
+            for (int h = 0; h < holes; h++) clause[h] = p * holes + h + 1;
+            sat.addClause(clause);
+        }
+        for (int h = 0; h < holes; h++) {
+            for (int p = 0; p < pigeons; p++) {
+                for (int q = p + 1; q < pigeons; q++) {
+                    sat.addClause(-(p * holes + h + 1), -(q * holes + h + 1));
+                }
+            }
+        }
+        assertEquals(SearchStatus.UNSOLVABLE, sat.solve(Long.MAX_VALUE));
+    }
+
+    private static CdclSatSolver randomThreeSat(long seed) {
+        Random random = new Random(seed);
+        CdclSatSolver sat = new CdclSatSolver(VARS);
+        for (int i = 0; i < CLAUSES; i++) {
+            int[] clause = new int[3];
+            for (int k = 0; k < 3; k++) {
+                int var = random.nextInt(VARS) + 1;
+                clause[k] = random.nextBoolean() ? var : -var;
+            }
+            sat.addClause(clause);
+        }
+        return sat;
+    }
+}
@@ -0,0 +1,127 @@
+package vn.rmit.cosc2469;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RMIT_Sudoku_SolverTest {
+    RMIT_Sudoku_Solver solver;
+
+    // Not Fun
+    int[][] expected = {
+            {1, 2, 6, 4, 3, 7, 9, 5, 8},
+            {8, 9, 5, 6, 2, 1, 4, 7, 3},
+            {3, 7, 4, 9, 8, 5, 1, 2, 6},
+            {4, 5, 7, 1, 9, 3, 8, 6, 2},
+            {9, 8, 3, 2, 4, 6, 5, 1, 7},
+            {6, 1, 2, 5, 7, 8, 3, 9, 4},
+            {2, 6, 9, 3, 1, 4, 7, 8, 5},
+            {5, 4, 8, 7, 6, 9, 2, 3, 1},
+            {7, 3, 1, 8, 5, 2, 6, 4, 9},
+    };
+
+    @BeforeEach
+    void setUp() {
+        solver = new RMIT_Sudoku_Solver();
+    }
+
+    @AfterEach
+    void tearDown() {
+        solver = null;
+    }
+
+    @Test
+    void solve() {
+        int[][] puzzle = SudokuSolverHelper.loadSudokuFromCSV("test-data/notfun.csv");
+        int[][] result = solver.solve(puzzle);
+        assertArrayEquals(expected, result);
+    }
+
+    @Test
+    void resumeFromSerialisedCheckpoint() {
+        int[][] puzzle = SudokuSolverHelper.loadSudokuFromCSV("test-data/notfun.csv");
+        SolverCheckpoint checkpoint = SolverCheckpoint.of(puzzle);
+
+        // Suspend every 100 nodes and continue each time on a fresh solver from the serialised state.
+        int suspensions = 0;
+        SearchStatus status;
+        while ((status = new RMIT_Sudoku_Solver().resume(checkpoint, 100)) == SearchStatus.SUSPENDED) {
+            checkpoint = SolverCheckpoint.fromBytes(checkpoint.toBytes());
+            suspensions++;
+        }
+
+        assertEquals(SearchStatus.SOLVED, status);
+        assertTrue(suspensions > 0);
+        assertArrayEquals(expected, checkpoint.getBoard());
+
+        // Cell selection only depends on the board, so the resumed search takes the same path.
+        SolverCheckpoint uninterrupted = SolverCheckpoint.of(puzzle);
+        assertEquals(SearchStatus.SOLVED, solver.resume(uninterrupted, Long.MAX_VALUE));
+        assertEquals(uninterrupted.getNodes(), checkpoint.getNodes());
+    }
+
+    @Test
+    void fromBytesRejectsInvalidStack() {
+        int[][] puzzle = SudokuSolverHelper.loadSudokuFromCSV("test-data/notfun.csv");
+        SolverCheckpoint checkpoint = SolverCheckpoint.of(puzzle);
+        assertEquals(SearchStatus.SUSPENDED, solver.resume(checkpoint, 100));
+        assertTrue(checkpoint.getDepth() > 1);
+        byte[] bytes = checkpoint.toBytes();
+        assertDoesNotThrow(() -> SolverCheckpoint.fromBytes(bytes));
+
+        // Layout: nodes (8), depth (1), descend (1), 81 cells, then (cell, options, remaining) per level.
+        int level0 = 8 + 2 + 81;
+
+        byte[] remainingNotSubset = bytes.clone();
+        remainingNotSubset[level0 + 3] = 0x7F;
+        remainingNotSubset[level0 + 4] = (byte) 0xFF;
+        assertThrows(IllegalArgumentException.class, () -> SolverCheckpoint.fromBytes(remainingNotSubset));
+
+        byte[] invalidOptions = bytes.clone();
+        invalidOptions[level0 + 2] |= 1; // bit 0 is not a digit
+        assertThrows(IllegalArgumentException.class, () -> SolverCheckpoint.fromBytes(invalidOptions));
+
+        byte[] emptyDecision = bytes.clone();
+        emptyDecision[8 + 2 + bytes[level0]] = 0; // clear the value placed at level 0
+        assertThrows(IllegalArgumentException.class, () -> SolverCheckpoint.fromBytes(emptyDecision));
+    }
+
+    @Test
+    void unsolvable() {
+        int[][] puzzle = SudokuSolverHelper.loadSudokuFromCSV("test-data/easiest1.csv");
+        puzzle[0][0] = 5; // the unique solution has 4 at (1,1)
+
+        assertEquals(SearchStatus.UNSOLVABLE, solver.resume(SolverCheckpoint.of(puzzle), Long.MAX_VALUE));
+        assertThrows(RuntimeException.class, () -> solver.solve(puzzle));
+    }
+
+    @Test
+    void sharedSolverAcrossThreads() throws Exception {
+        int[][] puzzle = SudokuSolverHelper.loadSudokuFromCSV("test-data/notfun.csv");
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<int[][]>> results = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                results.add(pool.submit(() -> {
+                    int[][] solution = new int[9][9];
+                    for (int run = 0; run < 10; run++) solver.solve(puzzle, solution);
+                    return solution;
+                }));
+            }
+            for (Future<int[][]> result : results) {
+                assertArrayEquals(expected, result.get());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package vn.rmit.cosc2469;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SolutionFileWriterTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void concurrentWritersAndLookupById() throws Exception {
+        int[][] puzzle = SudokuSolverHelper.loadSudokuFromCSV("test-data/notfun.csv");
+        int[][] solution = new RMIT_Sudoku_Solver().solve(puzzle);
+        Path file = dir.resolve("results.bin");
+        int threads = 4, perThread = 2500;
+
+        try (SolutionFileWriter writer = new SolutionFileWriter(file, threads * perThread)) {
+            ExecutorService pool = Executors.newFixedThreadPool(threads);
+            List<Future<?>> jobs = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int first = t * perThread;
+                jobs.add(pool.submit(() -> {
+                    for (int id = first; id < first + perThread; id++) {
+                        writer.append(id * 7919L, solution, SearchStatus.SOLVED, id, id * 2L);
+                    }
+                }));
+            }
+            for (Future<?> job : jobs) job.get();
+            pool.shutdown();
+            assertEquals(threads * perThread, writer.size());
+        }
+
+        try (SolutionFileReader reader = new SolutionFileReader(file)) {
+            assertEquals(threads * perThread, reader.size());
+            for (int id = 0; id < threads * perThread; id++) {
+                long slot = reader.find(id * 7919L);
+                assertTrue(slot >= 0);
+                assertEquals(id * 7919L, reader.getPuzzleId(slot));
+                assertEquals(SearchStatus.SOLVED, reader.getStatus(slot));
+                assertEquals(id, reader.getNanos(slot));
+                assertEquals(id * 2L, reader.getNodes(slot));
+            }
+            assertEquals(-1, reader.find(1));
+            assertArrayEquals(solution, reader.findSolution(0));
+            assertNull(reader.findSolution(1));
+        }
+    }
+
+    @Test
+    void storesFailedSolvesAndRejectsOverflow() throws IOException {
+        Path file = dir.resolve("results.bin");
+        try (SolutionFileWriter writer = new SolutionFileWriter(file, 1)) {
+            writer.append(42, null, SearchStatus.UNSOLVABLE, 10, 5);
+            assertThrows(IllegalStateException.class, () -> writer.append(43, null, SearchStatus.SOLVED, 0, 0));
+        }
+
+        try (SolutionFileReader reader = new SolutionFileReader(file)) {
+            assertEquals(1, reader.size());
+            assertEquals(SearchStatus.UNSOLVABLE, reader.getStatus(reader.find(42)));
+            assertArrayEquals(new int[9][9], reader.findSolution(42));
+            assertEquals(-1, reader.find(43));
+        }
+    }
+
+    @Test
+    void rejectsAppendAfterClose() throws IOException {
+        Path file = dir.resolve("results.bin");
+        SolutionFileWriter writer = new SolutionFileWriter(file, 10);
+        writer.append(1, null, SearchStatus.SOLVED, 0, 0);
+        writer.close();
+
+        assertThrows(IllegalStateException.class, () -> writer.append(2, null, SearchStatus.SOLVED, 0, 0));
+        assertEquals(1, writer.size());
+        writer.close(); // closing again is harmless
+
+        try (SolutionFileReader reader = new SolutionFileReader(file)) {
+            assertEquals(1, reader.size());
+            assertEquals(-1, reader.find(2));
+        }
+    }
+
+    @Test
+    void storesStableStatusCodesAndRejectsUnknownOnes() throws IOException {
+        Path file = dir.resolve("results.bin");
+        try (SolutionFileWriter writer = new SolutionFileWriter(file, 3)) {
+            writer.append(1, null, SearchStatus.SOLVED, 0, 0);
+            writer.append(2, null, SearchStatus.SUSPENDED, 0, 0);
+            writer.append(3, null, SearchStatus.UNSOLVABLE, 0, 0);
+        }
+
+        long statusOffset = SolutionFileWriter.HEADER_BYTES + SolutionFileWriter.STATUS_OFFSET;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer code = ByteBuffer.allocate(1);
+            for (int slot = 0; slot < 3; slot++) {
+                code.clear();
+                channel.read(code, statusOffset + (long) slot * SolutionFileWriter.RECORD_BYTES);
+                assertEquals(slot + 1, code.get(0)); // the codes are part of the file format
+            }
+            channel.write(ByteBuffer.wrap(new byte[]{42}), statusOffset + SolutionFileWriter.RECORD_BYTES);
+        }
+
+        try (SolutionFileReader reader = new SolutionFileReader(file)) {
+            assertEquals(SearchStatus.SOLVED, reader.getStatus(0));
+            IllegalStateException e = assertThrows(IllegalStateException.class, () -> reader.getStatus(1));
+            assertTrue(e.getMessage().contains("42"));
+            assertEquals(SearchStatus.UNSOLVABLE, reader.getStatus(2));
+        }
+    }
+
+    @Test
+    void rejectsUnclosedFile() throws IOException {
+        Path file = dir.resolve("results.bin");
+        SolutionFileWriter writer = new SolutionFileWriter(file, 10);
+        writer.append(1, null, SearchStatus.SOLVED, 0, 0);
+
+        assertThrows(IOException.class, () -> new SolutionFileReader(file));
+        writer.close();
+        try (SolutionFileReader reader = new SolutionFileReader(file)) {
+            assertEquals(0, reader.find(1));
+        }
+    }
+}
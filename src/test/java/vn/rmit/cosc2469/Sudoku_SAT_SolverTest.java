@@ -0,0 +1,118 @@
+package vn.rmit.cosc2469;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class Sudoku_SAT_SolverTest {
+    Sudoku_SAT_Solver solver;
+
+    @BeforeEach
+    void setUp() {
+        solver = new Sudoku_SAT_Solver();
+    }
+
+    @AfterEach
+    void tearDown() {
+        solver = null;
+    }
+
+    @Test
+    void solve() {
+        // Not Fun
+        int[][] expected = {
+                {1, 2, 6, 4, 3, 7, 9, 5, 8},
+                {8, 9, 5, 6, 2, 1, 4, 7, 3},
+                {3, 7, 4, 9, 8, 5, 1, 2, 6},
+                {4, 5, 7, 1, 9, 3, 8, 6, 2},
+                {9, 8, 3, 2, 4, 6, 5, 1, 7},
+                {6, 1, 2, 5, 7, 8, 3, 9, 4},
+                {2, 6, 9, 3, 1, 4, 7, 8, 5},
+                {5, 4, 8, 7, 6, 9, 2, 3, 1},
+                {7, 3, 1, 8, 5, 2, 6, 4, 9},
+        };
+        int[][] puzzle = SudokuSolverHelper.loadSudokuFromCSV("test-data/notfun.csv");
+        assertArrayEquals(expected, solver.solve(puzzle));
+    }
+
+    @Test
+    void solveLargerBoard() {
+        int box = 4;
+        int n = box * box;
+        Random random = new Random(2469);
+
+        // Start from a valid 16x16 pattern and blank out about half of the cells.
+        int[][] puzzle = new int[n][n];
+        for (int r = 0; r < n; r++) {
+            for (int c = 0; c < n; c++) {
+                int value = (box * (r % box) + r / box + c) % n + 1;
+                puzzle[r][c] = random.nextBoolean() ? value : 0;
+            }
+        }
+
+        int[][] result = solver.solve(puzzle);
+        for (int r = 0; r < n; r++) {
+            for (int c = 0; c < n; c++) {
+                if (puzzle[r][c] != 0) assertEquals(puzzle[r][c], result[r][c]);
+            }
+        }
+        assertTrue(isValid(result, box));
+    }
+
+    @Test
+    void unsolvable() {
+        int[][] puzzle = SudokuSolverHelper.loadSudokuFromCSV("test-data/easiest1.csv");
+        puzzle[0][0] = 5; // the unique solution has 4 at (1,1)
+
+        assertThrows(RuntimeException.class, () -> solver.solve(puzzle));
+    }
+
+    @Test
+    void reportsStatisticsOfTheCall() {
+        // An empty board cannot be solved by propagation alone, so the solver has to branch.
+        SatSolveStats stats = new SatSolveStats();
+        int[][] result = solver.solve(new int[9][9], stats);
+
+        assertTrue(SudokuSolverHelper.isValidSudoku(result));
+        assertTrue(stats.getDecisions() > 0);
+        assertTrue(stats.getConflicts() >= 0);
+    }
+
+    @Test
+    void resetsStatisticsWhenTheCallFails() {
+        SatSolveStats stats = new SatSolveStats();
+        solver.solve(new int[9][9], stats);
+        assertTrue(stats.getDecisions() > 0);
+
+        assertThrows(IllegalArgumentException.class, () -> solver.solve(new int[8][8], stats));
+        assertEquals(0, stats.getConflicts());
+        assertEquals(0, stats.getDecisions());
+        assertEquals(0, stats.getRestarts());
+    }
+
+    @Test
+    void rejectsNonSquareSize() {
+        assertThrows(IllegalArgumentException.class, () -> solver.solve(new int[8][8]));
+    }
+
+    private static boolean isValid(int[][] board, int box) {
+        int n = box * box;
+        for (int i = 0; i < n; i++) {
+            boolean[] row = new boolean[n + 1];
+            boolean[] col = new boolean[n + 1];
+            boolean[] sub = new boolean[n + 1];
+            for (int j = 0; j < n; j++) {
+                int r = board[i][j];
+                int c = board[j][i];
+                int b = board[(i / box) * box + j / box][(i % box) * box + j % box];
+                if (r < 1 || row[r] || col[c] || sub[b]) return false;
+                row[r] = col[c] = sub[b] = true;
+            }
+        }
+        return true;
+    }
+}
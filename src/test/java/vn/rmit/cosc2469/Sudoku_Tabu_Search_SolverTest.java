@@ -4,6 +4,9 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
+import java.util.Random;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class Sudoku_Tabu_Search_SolverTest {
@@ -134,4 +137,148 @@ class Sudoku_Tabu_Search_SolverTest {
 //        System.out.println(solver.toString(result6));
 //        assertArrayEquals(expected6, result6);
     }
-}
\ No newline at end of file
+
+    @Test
+    void solveIsReproducibleWithSeed() {
+        int[][] puzzle = SudokuSolverHelper.loadSudokuFromCSV("test-data/easiest1.csv");
+
+        Sudoku_Tabu_Search_Solver first = new Sudoku_Tabu_Search_Solver(7, 500, 1, 42);
+        Sudoku_Tabu_Search_Solver second = new Sudoku_Tabu_Search_Solver(7, 500, 1, 42);
+        assertArrayEquals(first.solve(puzzle), second.solve(puzzle));
+    }
+
+    @Test
+    void solveUntilValidStopsAtAttemptLimit() {
+        int[][] puzzle = SudokuSolverHelper.loadSudokuFromCSV("test-data/notfun.csv");
+
+        // A single iteration per attempt cannot solve this puzzle.
+        Sudoku_Tabu_Search_Solver limited = new Sudoku_Tabu_Search_Solver(7, 1, 3, 42);
+        limited.setVerbose(false);
+        TabuSearchStats stats = new TabuSearchStats();
+        assertThrows(RuntimeException.class, () -> limited.solveUntilValid(puzzle, new int[9][9], stats));
+        assertEquals(3, stats.getAttempts());
+    }
+
+    @Test
+    void cyclingIsEscapedWithoutFullRestart() {
+        int[][] puzzle = SudokuSolverHelper.loadSudokuFromCSV("test-data/easiest2.csv");
+
+        Sudoku_Tabu_Search_Solver seeded = new Sudoku_Tabu_Search_Solver(7, 10000, 1, 0);
+        seeded.setVerbose(false);
+        TabuSearchStats stats = new TabuSearchStats();
+        int[][] result = new int[9][9];
+        seeded.solveUntilValid(puzzle, result, stats);
+
+        assertTrue(SudokuSolverHelper.isValidSudoku(result));
+        assertEquals(1, stats.getAttempts());
+        assertTrue(stats.getRepeatedStates() > 0);
+    }
+
+    @Test
+    void persistentCyclingTriggersPartialRestarts() {
+        // A tenure of 1 on a harder puzzle keeps revisiting boards, so the restart threshold is reached.
+        int[][] puzzle = SudokuSolverHelper.loadSudokuFromCSV("test-data/intermediate.csv");
+        Sudoku_Tabu_Search_Solver cycling = new Sudoku_Tabu_Search_Solver(1, 10000, 1, 0);
+        TabuSearchStats stats = new TabuSearchStats();
+        int[][] result = cycling.solve(puzzle, stats);
+
+        assertTrue(stats.getRepeatedStates() >= 20);
+        assertTrue(stats.getPartialRestarts() > 0);
+        assertGivensAndRowsKept(puzzle, result);
+    }
+
+    @Test
+    void perturbKeepsGivensAndRowPermutations() {
+        int[][] puzzle = SudokuSolverHelper.loadSudokuFromCSV("test-data/notfun.csv");
+        int[][] solution = new RMIT_Sudoku_Solver().solve(puzzle);
+        boolean[][] fixed = new boolean[9][9];
+        for (int r = 0; r < 9; r++) {
+            for (int c = 0; c < 9; c++) fixed[r][c] = puzzle[r][c] != 0;
+        }
+
+        Random random = new Random(2469);
+        int[][] board = new int[9][];
+        for (int r = 0; r < 9; r++) board[r] = solution[r].clone();
+        boolean changed = false;
+        for (int i = 0; i < 50; i++) {
+            Sudoku_Tabu_Search_Solver.perturb(board, fixed, random);
+            assertGivensAndRowsKept(puzzle, board);
+            changed |= !Arrays.deepEquals(board, solution);
+        }
+        assertTrue(changed);
+    }
+
+    @Test
+    void tenureReactsToCycling() {
+        assertEquals(8, Sudoku_Tabu_Search_Solver.raiseTenure(7, 20));
+        assertEquals(12, Sudoku_Tabu_Search_Solver.raiseTenure(10, 20));
+        assertEquals(20, Sudoku_Tabu_Search_Solver.raiseTenure(19, 20));
+        assertEquals(9, Sudoku_Tabu_Search_Solver.decayTenure(10, 7));
+        assertEquals(7, Sudoku_Tabu_Search_Solver.decayTenure(8, 7));
+        assertEquals(7, Sudoku_Tabu_Search_Solver.decayTenure(7, 7));
+    }
+
+    private static void assertGivensAndRowsKept(int[][] puzzle, int[][] board) {
+        for (int r = 0; r < 9; r++) {
+            boolean[] seen = new boolean[10];
+            for (int c = 0; c < 9; c++) {
+                if (puzzle[r][c] != 0) assertEquals(puzzle[r][c], board[r][c]);
+                assertFalse(seen[board[r][c]]);
+                seen[board[r][c]] = true;
+            }
+            assertFalse(seen[0]);
+        }
+    }
+
+    @Test
+    void seededCallDoesNotSeedUnseededSolver() {
+        int[][] puzzle = SudokuSolverHelper.loadSudokuFromCSV("test-data/notfun.csv");
+        Sudoku_Tabu_Search_Solver seeded = new Sudoku_Tabu_Search_Solver(7, 50, 1, 42);
+        Sudoku_Tabu_Search_Solver unseeded = new Sudoku_Tabu_Search_Solver();
+
+        // After the same seeded call, an unseeded solver on the same thread must not repeat itself.
+        seeded.solve(puzzle);
+        int[][] first = unseeded.solve(puzzle);
+        boolean differs = false;
+        for (int i = 0; i < 5 && !differs; i++) {
+            seeded.solve(puzzle);
+            differs = !Arrays.deepEquals(first, unseeded.solve(puzzle));
+        }
+        assertTrue(differs);
+    }
+
+    @Test
+    void statsBelongToTheCall() {
+        int[][] puzzle = SudokuSolverHelper.loadSudokuFromCSV("test-data/notfun.csv");
+        Sudoku_Tabu_Search_Solver limited = new Sudoku_Tabu_Search_Solver(7, 1, 3, 42);
+        limited.setVerbose(false);
+        TabuSearchStats failed = new TabuSearchStats();
+        assertThrows(RuntimeException.class, () -> limited.solveUntilValid(puzzle, new int[9][9], failed));
+
+        // A later call, by another solver on the same thread, fills its own stats only.
+        TabuSearchStats other = new TabuSearchStats();
+        new Sudoku_Tabu_Search_Solver(7, 1, 1, 42).solve(puzzle, other);
+        assertEquals(3, failed.getAttempts());
+        assertEquals(1, other.getAttempts());
+    }
+
+    @Test
+    void sharedSeededSolverIsReproducibleAcrossThreads() throws Exception {
+        int[][] puzzle = SudokuSolverHelper.loadSudokuFromCSV("test-data/easiest1.csv");
+        Sudoku_Tabu_Search_Solver shared = new Sudoku_Tabu_Search_Solver(7, 500, 1, 42);
+        int[][] reference = shared.solve(puzzle);
+
+        Thread[] threads = new Thread[4];
+        int[][][] results = new int[threads.length][][];
+        for (int t = 0; t < threads.length; t++) {
+            int index = t;
+            threads[t] = new Thread(() -> results[index] = shared.solve(puzzle));
+            threads[t].start();
+        }
+        for (Thread thread : threads) thread.join();
+
+        for (int[][] result : results) {
+            assertArrayEquals(reference, result);
+        }
+    }
+}
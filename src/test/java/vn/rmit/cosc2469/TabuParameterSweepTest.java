@@ -0,0 +1,42 @@
+package vn.rmit.cosc2469;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TabuParameterSweepTest {
+
+    @Test
+    void run() throws InterruptedException {
+        int[] tenures = {7};
+        TabuParameterSweep sweep = new TabuParameterSweep(tenures, new int[]{500}, new int[]{1}, 2);
+        tenures[0] = 0; // the sweep keeps its own copy of the grid
+
+        int[][] puzzle = SudokuSolverHelper.loadSudokuFromCSV("test-data/easiest1.csv");
+        List<TabuParameterSweep.ConfigResult> results = sweep.run(Collections.singletonList(puzzle), 2);
+
+        assertEquals(1, results.size());
+        TabuParameterSweep.ConfigResult result = results.get(0);
+        assertEquals(7, result.tenure);
+        assertEquals(2, result.getRuns());
+        // Seeds 0 and 1 both solve easiest1 within 500 iterations.
+        assertEquals(1.0, result.getSuccessRate());
+        assertTrue(result.getTimeToSolutionMs(50) <= result.getTimeToSolutionMs(90));
+        assertTrue(result.getTimeToSolutionMs(90) <= result.getTimeToSolutionMs(100));
+    }
+
+    @Test
+    void noSuccessfulRun() throws InterruptedException {
+        // A single iteration per attempt cannot solve this puzzle.
+        TabuParameterSweep sweep = new TabuParameterSweep(new int[]{7}, new int[]{1}, new int[]{1}, 3);
+        int[][] puzzle = SudokuSolverHelper.loadSudokuFromCSV("test-data/notfun.csv");
+        TabuParameterSweep.ConfigResult result = sweep.run(Collections.singletonList(puzzle), 2).get(0);
+
+        assertEquals(3, result.getRuns());
+        assertEquals(0, result.getSuccessRate());
+        assertTrue(Double.isNaN(result.getTimeToSolutionMs(50)));
+    }
+}